@@ -0,0 +1,69 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.RunResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// результаты прошлой сборки (jmh-result.json), с которыми сравнивается текущий прогон
+public class Baseline {
+    private final Map<String, Double> scores;
+
+    private Baseline(Map<String, Double> scores) {
+        this.scores = scores;
+    }
+
+    public static Baseline read(Path path) throws IOException {
+        Map<String, Double> scores = new HashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(path.toFile())) {
+            Map<String, String> params = new TreeMap<>();
+            result.path("params").fields()
+                    .forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            scores.put(key(result.get("benchmark").asText(), params),
+                    result.get("primaryMetric").get("score").asDouble());
+        }
+        return new Baseline(scores);
+    }
+
+    // описания просевших бенчмарков; для thrpt хуже - меньше, для остальных режимов - больше
+    public List<String> findRegressions(Collection<RunResult> results, double maxRegression) {
+        List<String> regressions = new ArrayList<>();
+        for (RunResult result : results) {
+            BenchmarkParams params = result.getParams();
+            Map<String, String> paramValues = new TreeMap<>();
+            for (String name : params.getParamsKeys()) {
+                paramValues.put(name, params.getParam(name));
+            }
+            String key = key(params.getBenchmark(), paramValues);
+            Double baseline = scores.get(key);
+            if (baseline == null) {
+                System.out.printf("%s: нет в baseline, не сравнивается%n", key);
+                continue;
+            }
+            double score = result.getPrimaryResult().getScore();
+            double change = (score - baseline) / baseline;
+            boolean regressed = params.getMode() == Mode.Throughput ? change < -maxRegression : change > maxRegression;
+            String line = String.format("%s: %.3f -> %.3f %s (%+.1f%%)",
+                    key, baseline, score, result.getPrimaryResult().getScoreUnit(), change * 100);
+            System.out.println(line);
+            if (regressed) {
+                regressions.add(line);
+            }
+        }
+        return regressions;
+    }
+
+    private static String key(String benchmark, Map<String, String> params) {
+        return params.isEmpty() ? benchmark : benchmark + " " + params;
+    }
+}
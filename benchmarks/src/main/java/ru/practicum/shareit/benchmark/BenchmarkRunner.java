@@ -0,0 +1,39 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+
+public class BenchmarkRunner {
+
+    // ops/s и gc.alloc.rate.norm пишутся в target/jmh-result.json для сравнения между сборками
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result.json")
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        // с заданным baseline прогон падает, если score ухудшился больше чем на jmh.max-regression
+        String baseline = System.getProperty("jmh.baseline", "");
+        if (!baseline.isBlank()) {
+            double maxRegression = Double.parseDouble(System.getProperty("jmh.max-regression", "0.1"));
+            List<String> regressions = Baseline.read(Path.of(baseline)).findRegressions(results, maxRegression);
+            if (!regressions.isEmpty()) {
+                System.err.printf("Падение больше %.0f%% относительно %s:%n", maxRegression * 100, baseline);
+                regressions.forEach(System.err::println);
+                System.exit(1);
+            }
+        }
+    }
+}
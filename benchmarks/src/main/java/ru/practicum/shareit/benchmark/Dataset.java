@@ -0,0 +1,128 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// сервер на H2 в памяти: size вещей, у каждой две брони и два отзыва, по ITEMS_PER_OWNER вещей на владельца
+@State(Scope.Benchmark)
+public class Dataset {
+    private static final int ITEMS_PER_OWNER = 50;
+    private static final int BOOKERS = 10;
+
+    @Param({"1000"})
+    public int size;
+
+    public long ownerId; // владелец, для которого измеряются выборки
+    public BookingService bookingService;
+    public ItemService itemService;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                // аргументы командной строки, чтобы перекрыть TRACE/DEBUG-логирование из application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.orm.jpa=WARN",
+                        "--logging.level.org.springframework.transaction=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN",
+                        "--logging.level.ru.practicum.shareit=WARN");
+        fill();
+        bookingService = bean(BookingService.class);
+        itemService = bean(ItemService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void fill() {
+        LocalDateTime now = LocalDateTime.now();
+        int owners = Math.max(1, size / ITEMS_PER_OWNER);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < owners + BOOKERS; i++) {
+            User user = new User();
+            user.setName("user " + i);
+            user.setEmail("user" + i + "@mail.ru");
+            users.add(user);
+        }
+        users = bean(UserRepository.class).saveAll(users);
+        ownerId = users.get(0).getId();
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Item item = new Item();
+            item.setName("дрель " + i);
+            item.setDescription("инструмент для сверления");
+            item.setAvailable(true);
+            item.setOwner(users.get(i % owners).getId());
+            items.add(item);
+        }
+        items = bean(ItemRepository.class).saveAll(items);
+
+        List<Booking> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            long itemId = items.get(i).getId();
+            long bookerId = users.get(owners + i % BOOKERS).getId();
+            bookings.add(makeBooking(itemId, bookerId, now.minusDays(10 + i % 7), now.minusDays(5),
+                    BookingStatus.APPROVED));
+            bookings.add(makeBooking(itemId, bookerId, now.plusDays(5 + i % 7), now.plusDays(20),
+                    BookingStatus.WAITING));
+            for (int j = 0; j < 2; j++) {
+                Comment comment = new Comment();
+                comment.setText("отзыв " + j);
+                comment.setItemId(itemId);
+                comment.setAuthorId(bookerId);
+                comment.setCreated(now.minusDays(4).plusHours(j));
+                comments.add(comment);
+            }
+        }
+        bean(BookingRepository.class).saveAll(bookings);
+        bean(CommentRepository.class).saveAll(comments);
+    }
+
+    private Booking makeBooking(long itemId, long bookerId, LocalDateTime start, LocalDateTime end,
+                                BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setItemId(itemId);
+        booking.setBookerId(bookerId);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(status);
+        return booking;
+    }
+}
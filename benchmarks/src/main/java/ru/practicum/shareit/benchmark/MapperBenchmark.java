@@ -0,0 +1,109 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.CommentMapper;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemFullDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    private Booking booking;
+    private User booker;
+    private Item item;
+    private Comment comment;
+    private Optional<BookingShortDto> lastBooking;
+    private Optional<BookingShortDto> nextBooking;
+    private List<CommentDto> comments;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        booker = new User();
+        booker.setId(2L);
+        booker.setName("Booker");
+        booker.setEmail("booker@mail.ru");
+
+        item = new Item();
+        item.setId(1L);
+        item.setName("дрель");
+        item.setDescription("инструмент для сверления");
+        item.setAvailable(true);
+        item.setOwner(1L);
+
+        booking = new Booking();
+        booking.setId(1L);
+        booking.setItemId(item.getId());
+        booking.setBookerId(booker.getId());
+        booking.setStart(now.minusDays(2));
+        booking.setEnd(now.minusDays(1));
+        booking.setStatus(BookingStatus.APPROVED);
+
+        comment = new Comment();
+        comment.setId(1L);
+        comment.setItemId(item.getId());
+        comment.setAuthorId(booker.getId());
+        comment.setText("отличная дрель");
+        comment.setCreated(now);
+
+        lastBooking = Optional.of(new BookingShortDto(1L, item.getId(), booker.getId(),
+                now.minusDays(2), now.minusDays(1)));
+        nextBooking = Optional.of(new BookingShortDto(2L, item.getId(), booker.getId(),
+                now.plusDays(1), now.plusDays(2)));
+        comments = List.of(CommentMapper.toCommentDto(comment, booker.getName()));
+    }
+
+    @Benchmark
+    public BookingDto bookingToDto() {
+        return BookingMapper.toBookingDto(booking);
+    }
+
+    @Benchmark
+    public BookingFullDto bookingToFullDto() {
+        return BookingMapper.toBookingFullDto(booking, booker, item);
+    }
+
+    @Benchmark
+    public ItemDto itemToDto() {
+        return ItemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public ItemFullDto itemToFullDto() {
+        return ItemMapper.toItemFullDto(item, lastBooking, nextBooking, comments);
+    }
+
+    @Benchmark
+    public CommentDto commentToDto() {
+        return CommentMapper.toCommentDto(comment, booker.getName());
+    }
+}
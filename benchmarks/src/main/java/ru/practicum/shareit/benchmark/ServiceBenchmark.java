@@ -0,0 +1,38 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemFullDto;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Benchmark
+    public Collection<BookingFullDto> findOwnerBookings(Dataset dataset) {
+        return dataset.bookingService.findOwnerBookings(dataset.ownerId, "ALL", 0, 20, null);
+    }
+
+    @Benchmark
+    public Collection<ItemFullDto> findUserItems(Dataset dataset) {
+        return dataset.itemService.findUserItems(dataset.ownerId);
+    }
+
+    @Benchmark
+    public Collection<ItemDto> searchItems(Dataset dataset) {
+        return dataset.itemService.searchItems("дрель", 0, 20, null);
+    }
+}
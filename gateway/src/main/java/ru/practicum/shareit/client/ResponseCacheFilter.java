@@ -0,0 +1,169 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+
+@Component
+public class ResponseCacheFilter implements ExchangeFilterFunction, MeterBinder {
+    public static final String INVALIDATE_HEADER = "X-Cache-Invalidate";
+    private static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
+
+    private final Cache<Key, Entry> cache;
+
+    public ResponseCacheFilter(@Value("${shareit-server.cache.max-size}") long maxSize,
+                               @Value("${shareit-server.cache.max-ttl}") Duration maxTtl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(maxTtl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.method() != HttpMethod.GET) {
+            return next.exchange(request).doOnNext(this::invalidate);
+        }
+
+        Key key = new Key(pathOf(request.url()), request.headers().getFirst(X_SHARER_USER_ID));
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null && cached.isFresh()) {
+            return Mono.just(cached.toResponse());
+        }
+
+        ClientRequest toSend = request;
+        if (cached != null && cached.etag != null) {
+            toSend = ClientRequest.from(request).header(HttpHeaders.IF_NONE_MATCH, cached.etag).build();
+        }
+        return next.exchange(toSend).flatMap(response -> {
+            if (cached != null && response.statusCode() == HttpStatus.NOT_MODIFIED) {
+                Entry revalidated = cached.revalidated(freshUntil(response.headers().asHttpHeaders()));
+                cache.put(key, revalidated);
+                return response.releaseBody().thenReturn(revalidated.toResponse());
+            }
+            return store(key, response);
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "gateway-responses");
+    }
+
+    private Mono<ClientResponse> store(Key key, ClientResponse response) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(response.headers().asHttpHeaders());
+        Long freshUntil = freshUntil(headers);
+        if (response.statusCode() != HttpStatus.OK || freshUntil == null) {
+            cache.invalidate(key);
+            return Mono.just(response);
+        }
+        return response.bodyToMono(byte[].class)
+                .defaultIfEmpty(new byte[0])
+                .map(body -> {
+                    Entry entry = new Entry(headers, body, response.strategies(), headers.getETag(), freshUntil);
+                    cache.put(key, entry);
+                    return entry.toResponse();
+                });
+    }
+
+    private void invalidate(ClientResponse response) {
+        for (String value : response.headers().header(INVALIDATE_HEADER)) {
+            for (String path : value.split(",")) {
+                String prefix = path.trim();
+                if (!prefix.isEmpty()) {
+                    cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+                }
+            }
+        }
+    }
+
+    // null - ответ кэшировать нельзя
+    private static Long freshUntil(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return null;
+        }
+        long maxAge = 0;
+        boolean cacheable = false;
+        for (String directive : cacheControl.toLowerCase().split(",")) {
+            directive = directive.trim();
+            if (directive.equals("no-store")) {
+                return null;
+            } else if (directive.equals("no-cache")) {
+                maxAge = 0;
+                cacheable = headers.getETag() != null;
+                break;
+            } else if (directive.startsWith("max-age=")) {
+                try {
+                    maxAge = Long.parseLong(directive.substring("max-age=".length()));
+                    cacheable = maxAge > 0 || headers.getETag() != null;
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return cacheable ? System.currentTimeMillis() + maxAge * 1000 : null;
+    }
+
+    private static String pathOf(URI uri) {
+        return uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + "?" + uri.getRawQuery();
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Key {
+        private final String path;
+        private final String userId;
+
+        boolean startsWith(String prefix) {
+            return path.equals(prefix) || path.startsWith(prefix + "/") || path.startsWith(prefix + "?");
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private final HttpHeaders headers;
+        private final byte[] body;
+        private final ExchangeStrategies strategies;
+        private final String etag;
+        private final long freshUntil;
+
+        boolean isFresh() {
+            return System.currentTimeMillis() < freshUntil;
+        }
+
+        Entry revalidated(Long newFreshUntil) {
+            return new Entry(headers, body, strategies, etag,
+                    newFreshUntil != null ? newFreshUntil : System.currentTimeMillis());
+        }
+
+        ClientResponse toResponse() {
+            return ClientResponse.create(HttpStatus.OK, strategies)
+                    .headers(responseHeaders -> responseHeaders.addAll(headers))
+                    .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)))
+                    .build();
+        }
+    }
+}
@@ -3,6 +3,8 @@ package ru.practicum.shareit.item;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
@@ -16,45 +18,68 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @GetMapping
-    public ResponseEntity<Object> findItemItems(@RequestHeader(X_SHARER_USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> findItemItems(@RequestHeader(X_SHARER_USER_ID) Long userId) {
         return itemClient.getItems(userId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@Valid @RequestBody ItemRequestDto itemDto,
-                                             @RequestHeader(X_SHARER_USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> createItem(@Valid @RequestBody ItemRequestDto itemDto,
+                                                   @RequestHeader(X_SHARER_USER_ID) Long userId) {
         return itemClient.createItem(userId, itemDto);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> updateItem(@PathVariable Long id,
-                                             @RequestBody ItemRequestDto itemDto,
-                                             @RequestHeader(X_SHARER_USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> updateItem(@PathVariable Long id,
+                                                   @RequestBody ItemRequestDto itemDto,
+                                                   @RequestHeader(X_SHARER_USER_ID) Long userId) {
         return itemClient.updateItem(userId, id, itemDto);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> findItemById(@PathVariable Long id,
-                                               @RequestHeader(X_SHARER_USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> findItemById(@PathVariable Long id,
+                                                     @RequestHeader(X_SHARER_USER_ID) Long userId) {
         return itemClient.getItem(userId, id);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> deleteItemById(@PathVariable Long id,
-                                                 @RequestHeader(X_SHARER_USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> deleteItemById(@PathVariable Long id,
+                                                       @RequestHeader(X_SHARER_USER_ID) Long userId) {
         return itemClient.deleteItem(userId, id);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam(required = false) String text,
-                                              @RequestHeader(X_SHARER_USER_ID) Long userId) {
-        return itemClient.searchItems(userId, text);
+    public Mono<ResponseEntity<Object>> searchItems(@RequestParam(required = false) String text,
+                                                    @RequestParam(defaultValue = "0") Integer from,
+                                                    @RequestParam(defaultValue = "20") Integer size,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestHeader(X_SHARER_USER_ID) Long userId) {
+        validatePage(from, size);
+        return itemClient.searchItems(userId, text, from, size, cursor);
+    }
+
+    @GetMapping("/{id}/comments")
+    public Mono<ResponseEntity<Object>> findItemComments(@PathVariable Long id,
+                                                         @RequestParam(defaultValue = "0") Integer from,
+                                                         @RequestParam(defaultValue = "20") Integer size,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestHeader(X_SHARER_USER_ID) Long userId) {
+        validatePage(from, size);
+        return itemClient.getItemComments(userId, id, from, size, cursor);
     }
 
     @PostMapping("/{id}/comment")
-    public ResponseEntity<Object> addItemComment(@PathVariable Long id,
-                                                 @Valid @RequestBody CommentRequestDto commentDto,
-                                                 @RequestHeader(X_SHARER_USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> addItemComment(@PathVariable Long id,
+                                                       @Valid @RequestBody CommentRequestDto commentDto,
+                                                       @RequestHeader(X_SHARER_USER_ID) Long userId) {
         return itemClient.addItemComment(userId, id, commentDto);
     }
+
+    private void validatePage(int from, int size) {
+        if (size <= 0) {
+            throw new ValidationException(String.format("Параметр size (%s) задан некорректно", size));
+        }
+        if (from < 0) {
+            throw new ValidationException(String.format("Параметр from (%s) задан некорректно", from));
+        }
+    }
 }
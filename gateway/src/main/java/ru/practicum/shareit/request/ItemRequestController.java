@@ -3,6 +3,7 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import javax.validation.Valid;
@@ -16,30 +17,31 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItemRequest(@Valid @RequestBody ItemRequestDto itemRequestDto,
-                                                    @RequestHeader(X_SHARER_USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> createItemRequest(@Valid @RequestBody ItemRequestDto itemRequestDto,
+                                                          @RequestHeader(X_SHARER_USER_ID) Long userId) {
         return itemRequestClient.createItemRequest(userId, itemRequestDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findUserItemRequests(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                                       @RequestParam(defaultValue = "0") Integer from,
-                                                       @RequestParam(defaultValue = "20") Integer size) {
+    public Mono<ResponseEntity<Object>> findUserItemRequests(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                             @RequestParam(defaultValue = "0") Integer from,
+                                                             @RequestParam(defaultValue = "20") Integer size) {
         validatePage(from, size);
         return itemRequestClient.getItemRequests(userId, from, size);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> findAllItemRequests(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                                      @RequestParam(defaultValue = "0") Integer from,
-                                                      @RequestParam(defaultValue = "20") Integer size) {
+    public Mono<ResponseEntity<Object>> findAllItemRequests(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                            @RequestParam(defaultValue = "0") Integer from,
+                                                            @RequestParam(defaultValue = "20") Integer size,
+                                                            @RequestParam(required = false) String cursor) {
         validatePage(from, size);
-        return itemRequestClient.getAllItemRequests(userId, from, size);
+        return itemRequestClient.getAllItemRequests(userId, from, size, cursor);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> findItemById(@PathVariable Long id,
-                                               @RequestHeader(X_SHARER_USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> findItemById(@PathVariable Long id,
+                                                     @RequestHeader(X_SHARER_USER_ID) Long userId) {
         return itemRequestClient.getItemRequest(userId, id);
     }
 
@@ -3,6 +3,7 @@ package ru.practicum.shareit.user;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 
 import javax.validation.Valid;
@@ -16,27 +17,27 @@ public class UserController {
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<Object>> getAllUsers() {
         return userClient.getUsers();
     }
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@Valid @RequestBody UserRequestDto user) {
+    public Mono<ResponseEntity<Object>> createUser(@Valid @RequestBody UserRequestDto user) {
         return userClient.createUser(user);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> updateUser(@PathVariable Long id, @RequestBody UserRequestDto user) {
+    public Mono<ResponseEntity<Object>> updateUser(@PathVariable Long id, @RequestBody UserRequestDto user) {
         return userClient.updateUser(id, user);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> findUserById(@PathVariable Long id) {
+    public Mono<ResponseEntity<Object>> findUserById(@PathVariable Long id) {
         return userClient.getUser(id);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> deleteUserById(@PathVariable Long id) {
+    public Mono<ResponseEntity<Object>> deleteUserById(@PathVariable Long id) {
         return userClient.deleteUser(id);
     }
 }
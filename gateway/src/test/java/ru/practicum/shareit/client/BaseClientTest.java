@@ -0,0 +1,79 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemController;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+class BaseClientTest {
+    private static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
+    private static final String ETAG = "\"item-1-0\"";
+
+    private WebTestClient client;
+    private List<ClientRequest> sent;
+
+    @BeforeEach
+    void setUp() {
+        sent = new ArrayList<>();
+        WebClient.Builder builder = WebClient.builder()
+                .filter(new ResponseCacheFilter(100, Duration.ofMinutes(10)))
+                .exchangeFunction(request -> {
+                    sent.add(request);
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                            .header(HttpHeaders.CACHE_CONTROL, "max-age=60, private")
+                            .header(HttpHeaders.ETAG, ETAG)
+                            .header(HttpHeaders.VARY, X_SHARER_USER_ID)
+                            .header(ResponseCacheFilter.INVALIDATE_HEADER, "/items")
+                            .body("{\"id\":1}")
+                            .build());
+                });
+        client = WebTestClient.bindToController(new ItemController(new ItemClient("http://localhost:9090", builder)))
+                .build();
+    }
+
+    @Test
+    void getPassesETagForRevalidation() {
+        client.get().uri("/items/1")
+                .header(X_SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, ETAG)
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache, private")
+                .expectHeader().valueEquals(HttpHeaders.VARY, X_SHARER_USER_ID)
+                .expectHeader().doesNotExist(ResponseCacheFilter.INVALIDATE_HEADER)
+                .expectBody().json("{\"id\":1}");
+    }
+
+    @Test
+    void getWithMatchingIfNoneMatchIsNotModified() {
+        client.get().uri("/items/1")
+                .header(X_SHARER_USER_ID, "1")
+                .exchange()
+                .expectStatus().isOk();
+
+        client.get().uri("/items/1")
+                .header(X_SHARER_USER_ID, "1")
+                .header(HttpHeaders.IF_NONE_MATCH, ETAG)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, ETAG)
+                .expectBody().isEmpty();
+
+        assertThat(sent, hasSize(1));
+    }
+}
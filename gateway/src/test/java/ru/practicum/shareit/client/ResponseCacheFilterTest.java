@@ -0,0 +1,122 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+
+class ResponseCacheFilterTest {
+    private static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
+
+    private ResponseCacheFilter filter;
+    private List<ClientRequest> sent;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ResponseCacheFilter(100, Duration.ofMinutes(10));
+        sent = new ArrayList<>();
+    }
+
+    @Test
+    void freshResponseIsServedFromCache() {
+        Function<ClientRequest, ClientResponse> server = request -> ok("item", "max-age=60", null);
+
+        assertThat(get("/items/1", 1, server), equalTo("item"));
+        assertThat(get("/items/1", 1, server), equalTo("item"));
+
+        assertThat(sent, hasSize(1));
+    }
+
+    @Test
+    void notModifiedReusesCachedBody() {
+        Function<ClientRequest, ClientResponse> server = request -> {
+            if ("\"item-1-0\"".equals(request.headers().getFirst(HttpHeaders.IF_NONE_MATCH))) {
+                return ClientResponse.create(HttpStatus.NOT_MODIFIED)
+                        .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                        .header(HttpHeaders.ETAG, "\"item-1-0\"")
+                        .build();
+            }
+            return ok("item", "no-cache", "\"item-1-0\"");
+        };
+
+        assertThat(get("/items/1", 1, server), equalTo("item"));
+        assertThat(get("/items/1", 1, server), equalTo("item"));
+
+        assertThat(sent, hasSize(2));
+        assertThat(sent.get(0).headers().getFirst(HttpHeaders.IF_NONE_MATCH), nullValue());
+        assertThat(sent.get(1).headers().getFirst(HttpHeaders.IF_NONE_MATCH), equalTo("\"item-1-0\""));
+    }
+
+    @Test
+    void invalidateHeaderRemovesOnlyMatchingPaths() {
+        Function<ClientRequest, ClientResponse> server = request -> request.method() == HttpMethod.GET
+                ? ok(request.url().getPath(), "max-age=60", null)
+                : ClientResponse.create(HttpStatus.OK)
+                .header(ResponseCacheFilter.INVALIDATE_HEADER, "/items/5")
+                .build();
+        get("/items/5", 1, server);
+        get("/items/5?from=0", 1, server);
+        get("/items/50", 1, server);
+
+        exchange(HttpMethod.PATCH, "/items/5", 1, server).releaseBody().block();
+        get("/items/5", 1, server);
+        get("/items/5?from=0", 1, server);
+        get("/items/50", 1, server);
+
+        assertThat(sent, hasSize(6));
+        assertThat(sent.get(4).url().getPath(), equalTo("/items/5"));
+        assertThat(sent.get(5).url().getRawQuery(), equalTo("from=0"));
+    }
+
+    @Test
+    void usersDoNotShareEntries() {
+        Function<ClientRequest, ClientResponse> server = request ->
+                ok("item for " + request.headers().getFirst(X_SHARER_USER_ID), "max-age=60", null);
+
+        assertThat(get("/items/1", 1, server), equalTo("item for 1"));
+        assertThat(get("/items/1", 2, server), equalTo("item for 2"));
+        assertThat(get("/items/1", 1, server), equalTo("item for 1"));
+
+        assertThat(sent, hasSize(2));
+    }
+
+    private String get(String path, long userId, Function<ClientRequest, ClientResponse> server) {
+        return exchange(HttpMethod.GET, path, userId, server).bodyToMono(String.class).block();
+    }
+
+    private ClientResponse exchange(HttpMethod method, String path, long userId,
+                                    Function<ClientRequest, ClientResponse> server) {
+        ClientRequest request = ClientRequest.create(method, URI.create("http://localhost:9090" + path))
+                .header(X_SHARER_USER_ID, String.valueOf(userId))
+                .build();
+        return filter.filter(request, toSend -> {
+            sent.add(toSend);
+            return Mono.just(server.apply(toSend));
+        }).block();
+    }
+
+    private static ClientResponse ok(String body, String cacheControl, String eTag) {
+        ClientResponse.Builder response = ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .body(body);
+        if (eTag != null) {
+            response.header(HttpHeaders.ETAG, eTag);
+        }
+        return response.build();
+    }
+}
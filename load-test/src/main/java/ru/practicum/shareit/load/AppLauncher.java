@@ -0,0 +1,83 @@
+package ru.practicum.shareit.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// запускает server (профиль test, H2 в памяти) и gateway из собранных jar
+public class AppLauncher implements AutoCloseable {
+    private static final String SERVER_URL = "http://localhost:9090";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final List<Process> processes = new ArrayList<>();
+
+    static AppLauncher start(LoadOptions options) throws IOException, InterruptedException {
+        AppLauncher launcher = new AppLauncher();
+        try {
+            launcher.launch(options.serverJar, Path.of("target/server.log"),
+                    "--spring.profiles.active=test",
+                    "--logging.level.org.springframework.orm.jpa=WARN",
+                    "--logging.level.org.springframework.transaction=WARN",
+                    "--logging.level.org.springframework.transaction.interceptor=WARN",
+                    "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+            waitForHealth(SERVER_URL);
+            launcher.launch(options.gatewayJar, Path.of("target/gateway.log"),
+                    "--shareit-server.url=" + SERVER_URL,
+                    "--logging.level.org.springframework.web.reactive.function.client.ExchangeFunctions=WARN");
+            waitForHealth(options.baseUrl);
+            return launcher;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            launcher.close();
+            throw e;
+        }
+    }
+
+    private void launch(Path jar, Path log, String... args) throws IOException {
+        if (!Files.exists(jar)) {
+            throw new IllegalStateException("Не найден " + jar + ", сначала выполните mvn package");
+        }
+        Files.createDirectories(log.getParent());
+        List<String> command = new ArrayList<>(List.of("java", "-jar", jar.toString()));
+        command.addAll(List.of(args));
+        processes.add(new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start());
+    }
+
+    private static void waitForHealth(String baseUrl) throws InterruptedException {
+        HttpClient http = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // приложение ещё не слушает порт
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(baseUrl + " не запустился за " + STARTUP_TIMEOUT.toSeconds() + " с");
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            Process process = processes.get(i);
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+}
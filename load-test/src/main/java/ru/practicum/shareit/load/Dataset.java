@@ -0,0 +1,114 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// пользователи, вещи, запросы и брони, созданные через API перед основной нагрузкой
+public class Dataset {
+    static final List<String> WORDS = List.of("дрель", "палатка", "лодка", "велосипед", "удочка", "лыжи",
+            "самокат", "проектор", "гитара", "перфоратор");
+
+    final List<Long> owners = new ArrayList<>();
+    final List<Long> bookers = new ArrayList<>();
+    final List<Long> items = new ArrayList<>();
+    final Map<Long, Long> itemOwners = new HashMap<>();
+    final List<Long> commentedItems = new ArrayList<>();
+
+    static Dataset seed(ShareItClient client, LoadOptions options, Random random) throws InterruptedException {
+        Dataset dataset = new Dataset();
+        String run = Long.toString(System.currentTimeMillis(), 36); // почта уникальна и при повторном запуске
+        int ownerCount = Math.max(1, options.users / 4);
+        for (int i = 0; i < options.users; i++) {
+            JsonNode user = client.post("POST /users", "/users", null,
+                    Map.of("name", "user " + i, "email", "load" + run + "u" + i + "@mail.ru"));
+            (i < ownerCount ? dataset.owners : dataset.bookers).add(id(user));
+        }
+
+        List<Long> requests = new ArrayList<>();
+        for (long bookerId : dataset.bookers) {
+            JsonNode request = client.post("POST /requests", "/requests", bookerId,
+                    Map.of("description", "нужна " + WORDS.get(random.nextInt(WORDS.size()))));
+            requests.add(id(request));
+        }
+
+        for (int i = 0; i < options.items; i++) {
+            long ownerId = dataset.owners.get(i % dataset.owners.size());
+            Map<String, Object> body = new HashMap<>();
+            String word = WORDS.get(random.nextInt(WORDS.size()));
+            body.put("name", word + " " + i);
+            body.put("description", word + " в хорошем состоянии");
+            body.put("available", true);
+            if (i % 10 == 0 && !requests.isEmpty()) {
+                body.put("requestId", requests.get(i / 10 % requests.size()));
+            }
+            long itemId = id(client.post("POST /items", "/items", ownerId, body));
+            dataset.items.add(itemId);
+            dataset.itemOwners.put(itemId, ownerId);
+        }
+
+        dataset.seedComments(client, options);
+        return dataset;
+    }
+
+    // отзыв можно оставить только после завершённой брони, поэтому брони короткие и идут друг за другом;
+    // начало отсчитывается заново для каждой вещи, иначе к последним вещам оно успевает пройти
+    private void seedComments(ShareItClient client, LoadOptions options) throws InterruptedException {
+        int bookersPerItem = Math.min(3, bookers.size());
+        int planned = 0;
+        LocalDateTime lastEnd = LocalDateTime.now();
+        List<long[]> finished = new ArrayList<>();
+        for (int i = 0; i < Math.min(options.commentedItems, items.size()); i++) {
+            long itemId = items.get(i);
+            LocalDateTime base = LocalDateTime.now().plusSeconds(2);
+            for (int k = 0; k < bookersPerItem; k++) {
+                long bookerId = bookers.get((i + k) % bookers.size());
+                LocalDateTime start = base.plusSeconds(k);
+                LocalDateTime end = start.plusNanos(900_000_000);
+                planned++;
+                JsonNode booking = client.post("POST /bookings", "/bookings", bookerId, Map.of(
+                        "itemId", itemId,
+                        "start", start.toString(),
+                        "end", end.toString()));
+                if (booking != null && client.patch("PATCH /bookings/{id}",
+                        "/bookings/" + id(booking) + "?approved=true", itemOwners.get(itemId)) != null) {
+                    finished.add(new long[]{itemId, bookerId});
+                    if (end.isAfter(lastEnd)) {
+                        lastEnd = end;
+                    }
+                }
+            }
+        }
+        long waitMillis = java.time.Duration.between(LocalDateTime.now(), lastEnd.plusSeconds(1)).toMillis();
+        if (waitMillis > 0) {
+            Thread.sleep(waitMillis);
+        }
+        int comments = 0;
+        for (long[] booking : finished) {
+            JsonNode comment = client.post("POST /items/{id}/comment", "/items/" + booking[0] + "/comment",
+                    booking[1], Map.of("text", "всё отлично, спасибо"));
+            if (comment != null) {
+                comments++;
+                if (!commentedItems.contains(booking[0])) {
+                    commentedItems.add(booking[0]);
+                }
+            }
+        }
+        if (finished.size() < planned || comments < finished.size()) {
+            throw new IllegalStateException(String.format("Не удалось заполнить отзывы: подтверждено %d из %d "
+                    + "броней, создано %d отзывов", finished.size(), planned, comments));
+        }
+    }
+
+    private static long id(JsonNode node) {
+        if (node == null || !node.has("id")) {
+            throw new IllegalStateException("Не удалось заполнить данные: сервер вернул ошибку");
+        }
+        return node.get("id").asLong();
+    }
+}
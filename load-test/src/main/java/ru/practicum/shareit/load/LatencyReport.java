@@ -0,0 +1,80 @@
+package ru.practicum.shareit.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// задержки по эндпоинтам; значения хранятся в микросекундах
+public class LatencyReport {
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Histogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean failed) {
+        latencies.computeIfAbsent(endpoint, key -> new ConcurrentHistogram(MAX_LATENCY_MICROS, 3))
+                .recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), MAX_LATENCY_MICROS));
+        if (failed) {
+            errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        }
+    }
+
+    void reset() {
+        latencies.clear();
+        errors.clear();
+    }
+
+    void print(PrintStream out, long elapsedNanos) {
+        out.printf("%-28s %8s %7s %9s %9s %9s %9s%n", "endpoint", "count", "errors", "rps", "p50 ms", "p99 ms",
+                "max ms");
+        for (String[] row : rows(elapsedNanos)) {
+            out.printf("%-28s %8s %7s %9s %9s %9s %9s%n", (Object[]) row);
+        }
+    }
+
+    void write(Path file, long elapsedNanos) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("endpoint,count,errors,rps,p50_ms,p99_ms,max_ms");
+        for (String[] row : rows(elapsedNanos)) {
+            lines.add(String.join(",", row));
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, lines);
+    }
+
+    private List<String[]> rows(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        List<String[]> rows = new ArrayList<>();
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(latencies).entrySet()) {
+            Histogram histogram = entry.getValue();
+            LongAdder failed = errors.get(entry.getKey());
+            rows.add(new String[]{
+                    entry.getKey(),
+                    String.valueOf(histogram.getTotalCount()),
+                    String.valueOf(failed == null ? 0 : failed.sum()),
+                    String.format("%.1f", histogram.getTotalCount() / seconds),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getMaxValue())
+            });
+        }
+        return rows;
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.2f", micros / 1000.0);
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.load;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+// параметры запуска в виде --name=value, флаги - просто --name
+public class LoadOptions {
+    final String baseUrl;
+    final boolean start;
+    final Path serverJar;
+    final Path gatewayJar;
+    final int users;
+    final int items;
+    final int commentedItems;
+    final int threads;
+    final int requests;
+    final long seed;
+    final Path report;
+
+    private LoadOptions(Map<String, String> values) {
+        baseUrl = values.getOrDefault("base-url", "http://localhost:8080");
+        start = values.containsKey("start");
+        serverJar = Path.of(values.getOrDefault("server-jar",
+                "../server/target/shareit-server-0.0.1-SNAPSHOT-exec.jar"));
+        gatewayJar = Path.of(values.getOrDefault("gateway-jar",
+                "../gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar"));
+        users = intValue(values, "users", 50);
+        items = intValue(values, "items", 200);
+        commentedItems = intValue(values, "commented-items", 20);
+        threads = intValue(values, "threads", 16);
+        requests = intValue(values, "requests", 20000);
+        seed = Long.parseLong(values.getOrDefault("seed", "42"));
+        report = Path.of(values.getOrDefault("report", "target/load-report.csv"));
+        if (users < 2 || items < 1 || threads < 1 || requests < 1) {
+            throw new IllegalArgumentException("users >= 2, items, threads и requests >= 1");
+        }
+    }
+
+    static LoadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Неизвестный аргумент: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return new LoadOptions(values);
+    }
+
+    private static int intValue(Map<String, String> values, String name, int defaultValue) {
+        return values.containsKey(name) ? Integer.parseInt(values.get(name)) : defaultValue;
+    }
+}
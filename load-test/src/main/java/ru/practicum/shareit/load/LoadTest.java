@@ -0,0 +1,47 @@
+package ru.practicum.shareit.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        try (AppLauncher ignored = options.start ? AppLauncher.start(options) : new AppLauncher()) {
+            run(options);
+        }
+    }
+
+    private static void run(LoadOptions options) throws Exception {
+        LatencyReport report = new LatencyReport();
+        ShareItClient client = new ShareItClient(options.baseUrl, report);
+
+        System.out.printf("Заполнение: %d пользователей, %d вещей, %d вещей с отзывами%n",
+                options.users, options.items, options.commentedItems);
+        Dataset dataset = Dataset.seed(client, options, new Random(options.seed));
+        report.reset();
+
+        System.out.printf("Нагрузка: %d запросов в %d потоков на %s%n", options.requests, options.threads,
+                options.baseUrl);
+        ExecutorService executor = Executors.newFixedThreadPool(options.threads);
+        List<Future<?>> workers = new ArrayList<>();
+        long started = System.nanoTime();
+        for (int i = 0; i < options.threads; i++) {
+            int requests = options.requests / options.threads + (i < options.requests % options.threads ? 1 : 0);
+            workers.add(executor.submit(new Workload(client, dataset, options.seed + i + 1, requests)));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        long elapsed = System.nanoTime() - started;
+        executor.shutdown();
+
+        report.print(System.out, elapsed);
+        report.write(options.report, elapsed);
+        System.out.printf("Итого %.1f с, отчёт: %s%n", elapsed / 1e9, options.report.toAbsolutePath());
+    }
+}
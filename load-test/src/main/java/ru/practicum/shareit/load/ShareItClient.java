@@ -0,0 +1,71 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+// каждый вызов попадает в отчёт под именем эндпоинта, а не конкретного URL
+public class ShareItClient {
+    private static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String baseUrl;
+    private final LatencyReport report;
+
+    public ShareItClient(String baseUrl, LatencyReport report) {
+        this.baseUrl = baseUrl;
+        this.report = report;
+    }
+
+    // null - запрос завершился ошибкой
+    JsonNode get(String endpoint, String path, long userId) {
+        return send(endpoint, "GET", path, userId, null);
+    }
+
+    JsonNode post(String endpoint, String path, Long userId, Map<String, Object> body) {
+        return send(endpoint, "POST", path, userId, body);
+    }
+
+    JsonNode patch(String endpoint, String path, long userId) {
+        return send(endpoint, "PATCH", path, userId, null);
+    }
+
+    private JsonNode send(String endpoint, String method, String path, Long userId, Map<String, Object> body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json");
+        if (userId != null) {
+            request.header(X_SHARER_USER_ID, userId.toString());
+        }
+        long started = System.nanoTime();
+        try {
+            if (body == null) {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            } else {
+                request.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)));
+            }
+            HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            boolean failed = response.statusCode() >= 400;
+            report.record(endpoint, System.nanoTime() - started, failed);
+            return failed || response.body().length == 0 ? null : mapper.readTree(response.body());
+        } catch (IOException e) {
+            report.record(endpoint, System.nanoTime() - started, true);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.load;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// смешанная нагрузка одного потока: доли операций фиксированы, выбор детерминирован seed
+public class Workload implements Runnable {
+    private static final int BOOKING_BURST = 5;
+
+    private final ShareItClient client;
+    private final Dataset dataset;
+    private final Random random;
+    private final int requests;
+
+    public Workload(ShareItClient client, Dataset dataset, long seed, int requests) {
+        this.client = client;
+        this.dataset = dataset;
+        this.random = new Random(seed);
+        this.requests = requests;
+    }
+
+    @Override
+    public void run() {
+        int sent = 0;
+        while (sent < requests && !Thread.currentThread().isInterrupted()) {
+            int operation = random.nextInt(100);
+            if (operation < 8) { // пачка из BOOKING_BURST броней, около трети всех запросов
+                sent += bookingBurst(Math.min(BOOKING_BURST, requests - sent));
+                continue;
+            }
+            if (operation < 30) {
+                client.get("GET /items", "/items", pick(dataset.owners));
+            } else if (operation < 50) {
+                client.get("GET /bookings/owner", "/bookings/owner?state=ALL&from=0&size=20",
+                        pick(dataset.owners));
+            } else if (operation < 80) {
+                String text = URLEncoder.encode(pick(Dataset.WORDS), StandardCharsets.UTF_8);
+                client.get("GET /items/search", "/items/search?text=" + text + "&from=0&size=20",
+                        pick(dataset.bookers));
+            } else if (operation < 90 && !dataset.commentedItems.isEmpty()) {
+                client.get("GET /items/{id}/comments",
+                        "/items/" + pick(dataset.commentedItems) + "/comments?from=0&size=20",
+                        pick(dataset.bookers));
+            } else {
+                client.get("GET /items/{id}", "/items/" + pick(dataset.items), pick(dataset.bookers));
+            }
+            sent++;
+        }
+    }
+
+    // несколько броней подряд от одного пользователя на разные даты
+    private int bookingBurst(int size) {
+        long bookerId = pick(dataset.bookers);
+        for (int i = 0; i < size; i++) {
+            LocalDateTime start = LocalDateTime.now().plusDays(1 + random.nextInt(365))
+                    .plusMinutes(random.nextInt(24 * 60));
+            client.post("POST /bookings", "/bookings", bookerId, Map.of(
+                    "itemId", pick(dataset.items),
+                    "start", start.toString(),
+                    "end", start.plusDays(1 + random.nextInt(7)).toString()));
+        }
+        return size;
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
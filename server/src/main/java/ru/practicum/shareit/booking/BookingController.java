@@ -4,13 +4,18 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.cache.CacheHeaders;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.Keyset;
 
 import javax.validation.Valid;
 import java.util.Collection;
+import java.util.List;
 
 
 @RestController
@@ -23,7 +28,23 @@ public class BookingController {
     @PostMapping
     public ResponseEntity<BookingFullDto> createBooking(@Valid @RequestBody BookingDto bookingDto,
                                                         @RequestHeader(X_SHARER_USER_ID) Long userId) {
-        return new ResponseEntity<>(service.saveBooking(bookingDto, userId), HttpStatus.CREATED);
+        BookingFullDto savedBooking = service.saveBooking(bookingDto, userId);
+        return CacheHeaders.invalidating(HttpStatus.CREATED, savedBooking,
+                CacheHeaders.item(savedBooking.getItem().getId()));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<BookingBatchResultDto>> createBookings(@RequestBody List<BookingDto> bookingDtos,
+                                                                      @RequestHeader(X_SHARER_USER_ID) Long userId) {
+        List<BookingBatchResultDto> results = service.saveBookings(bookingDtos, userId);
+        String[] bookedItems = results.stream()
+                .filter(result -> result.getBooking() != null)
+                .map(result -> CacheHeaders.item(result.getBooking().getItem().getId()))
+                .distinct()
+                .toArray(String[]::new);
+        return bookedItems.length == 0
+                ? new ResponseEntity<>(results, HttpStatus.OK)
+                : CacheHeaders.invalidating(HttpStatus.OK, results, bookedItems);
     }
 
     @PatchMapping("/{id}")
@@ -31,7 +52,8 @@ public class BookingController {
                                                         @RequestHeader(X_SHARER_USER_ID) Long userId,
                                                         @RequestParam Boolean approved) {
         return service.updateBooking(id, userId, approved)
-                .map(updatedBooking -> new ResponseEntity<>(updatedBooking, HttpStatus.OK))
+                .map(updatedBooking -> CacheHeaders.invalidating(HttpStatus.OK, updatedBooking,
+                        CacheHeaders.item(updatedBooking.getItem().getId())))
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
@@ -43,19 +65,25 @@ public class BookingController {
     }
 
     @GetMapping
-    public Collection<BookingFullDto> findUserBookings(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                                       @RequestParam(defaultValue = "ALL") String state,
-                                                       @RequestParam(defaultValue = "0") Integer from,
-                                                       @RequestParam(defaultValue = "20") Integer size) {
-        return service.findUserBookings(userId, state, from, size);
+    public ResponseEntity<Collection<BookingFullDto>> findUserBookings(
+            @RequestHeader(X_SHARER_USER_ID) Long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String cursor) {
+        return Cursor.withNextCursor(service.findUserBookings(userId, state, from, size, cursor), size,
+                booking -> Keyset.encode(booking.getStart(), booking.getId()));
     }
 
     @GetMapping("/owner")
-    public Collection<BookingFullDto> findOwnerBookings(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                                        @RequestParam(defaultValue = "ALL") String state,
-                                                        @RequestParam(defaultValue = "0") Integer from,
-                                                        @RequestParam(defaultValue = "20") Integer size) {
+    public ResponseEntity<Collection<BookingFullDto>> findOwnerBookings(
+            @RequestHeader(X_SHARER_USER_ID) Long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String cursor) {
         BookingState.validateState(state);
-        return service.findOwnerBookings(userId, state, from, size);
+        return Cursor.withNextCursor(service.findOwnerBookings(userId, state, from, size, cursor), size,
+                booking -> Keyset.encode(booking.getStart(), booking.getId()));
     }
 }
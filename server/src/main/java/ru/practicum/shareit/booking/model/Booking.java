@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking.model;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
@@ -16,7 +17,8 @@ import java.time.LocalDateTime;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     long id; // уникальный идентификатор вещи;
     @Column(name = "start_date")
     LocalDateTime start; // дата и время начала бронирования
@@ -28,4 +30,7 @@ public class Booking {
     Long bookerId; // пользователь, который осуществляет бронирование
     @Enumerated(EnumType.STRING)
     BookingStatus status; // статус бронирования
+    @Version
+    @JsonIgnore
+    long version;
 }
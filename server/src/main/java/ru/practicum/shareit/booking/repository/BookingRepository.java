@@ -1,60 +1,168 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    Page<Booking> findAllByBookerId(long bookerId, Pageable pageable);
+    String BEFORE_CURSOR = " (b.start < :cursorStart or (b.start = :cursorStart and b.id < :cursorId)) ";
 
-    Page<Booking> findAllByBookerIdAndStartBeforeAndEndAfter(
-            long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
+    String NEWEST_FIRST = " order by b.start desc, b.id desc";
 
-    Page<Booking> findAllByBookerIdAndEndBefore(long bookerId, LocalDateTime end, Pageable pageable);
+    String SHORT_BOOKING = "SELECT new ru.practicum.shareit.booking.dto.BookingShortDto(" +
+            "b.id, b.itemId, b.bookerId, b.start, b.end) FROM Booking b ";
 
-    Page<Booking> findAllByBookerIdAndStartAfter(long bookerId, LocalDateTime start, Pageable pageable);
+    @Query("select b from Booking b " +
+            " where b.bookerId = :bookerId " +
+            "   and" + BEFORE_CURSOR +
+            NEWEST_FIRST)
+    Slice<Booking> findAllByBookerId(long bookerId, LocalDateTime cursorStart, long cursorId, Pageable pageable);
 
-    Page<Booking> findAllByBookerIdAndStatus(long bookerId, BookingStatus status, Pageable pageable);
+    @Query("select b from Booking b " +
+            " where b.bookerId = :bookerId " +
+            "   and b.start < :now and b.end > :now " +
+            "   and" + BEFORE_CURSOR +
+            NEWEST_FIRST)
+    Slice<Booking> findCurrentByBookerId(long bookerId, LocalDateTime now,
+                                         LocalDateTime cursorStart, long cursorId, Pageable pageable);
 
-    Collection<Booking> findByItemIdAndStatusAndStartBeforeAndEndAfter(
+    @Query("select b from Booking b " +
+            " where b.bookerId = :bookerId " +
+            "   and b.end < :now " +
+            "   and" + BEFORE_CURSOR +
+            NEWEST_FIRST)
+    Slice<Booking> findPastByBookerId(long bookerId, LocalDateTime now,
+                                      LocalDateTime cursorStart, long cursorId, Pageable pageable);
+
+    @Query("select b from Booking b " +
+            " where b.bookerId = :bookerId " +
+            "   and b.start > :now " +
+            "   and" + BEFORE_CURSOR +
+            NEWEST_FIRST)
+    Slice<Booking> findFutureByBookerId(long bookerId, LocalDateTime now,
+                                        LocalDateTime cursorStart, long cursorId, Pageable pageable);
+
+    @Query("select b from Booking b " +
+            " where b.bookerId = :bookerId " +
+            "   and b.status = :status " +
+            "   and" + BEFORE_CURSOR +
+            NEWEST_FIRST)
+    Slice<Booking> findAllByBookerIdAndStatus(long bookerId, BookingStatus status,
+                                              LocalDateTime cursorStart, long cursorId, Pageable pageable);
+
+    boolean existsByItemIdAndStatusAndStartBeforeAndEndAfter(
             long itemId, BookingStatus status, LocalDateTime start, LocalDateTime end);
 
-    @Query(" select b from Item i, Booking b " +
-            " where i.owner = ?1 " +
+    List<Booking> findAllByItemIdInAndStatusAndStartBeforeAndEndAfter(
+            Collection<Long> itemIds, BookingStatus status, LocalDateTime start, LocalDateTime end);
+
+    @Query("select b from Item i, Booking b " +
+            " where i.owner = :ownerId " +
             "   and b.itemId = i.id " +
-            "   and (?2 = 'ALL' or " +
-            "        (?2 = 'CURRENT' and ?3 between b.start and b.end) or " +
-            "        (?2 = 'PAST' and ?3 > b.end) or " +
-            "        (?2 = 'FUTURE' and ?3 < b.start) or " +
-            "        (?2 = 'WAITING' and b.status = ?2) or " +
-            "        (?2 = 'REJECTED' and b.status = ?2) " +
-            "       )" +
-            " order by b.start desc")
-    Page<Booking> findAllByOwnerId(long ownerId, String state, LocalDateTime localDateTime, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b " +
+            "   and" + BEFORE_CURSOR +
+            NEWEST_FIRST)
+    Slice<Booking> findAllByOwnerId(long ownerId, LocalDateTime cursorStart, long cursorId, Pageable pageable);
+
+    @Query("select b from Item i, Booking b " +
+            " where i.owner = :ownerId " +
+            "   and b.itemId = i.id " +
+            "   and b.start < :now and b.end > :now " +
+            "   and" + BEFORE_CURSOR +
+            NEWEST_FIRST)
+    Slice<Booking> findCurrentByOwnerId(long ownerId, LocalDateTime now,
+                                        LocalDateTime cursorStart, long cursorId, Pageable pageable);
+
+    @Query("select b from Item i, Booking b " +
+            " where i.owner = :ownerId " +
+            "   and b.itemId = i.id " +
+            "   and b.end < :now " +
+            "   and" + BEFORE_CURSOR +
+            NEWEST_FIRST)
+    Slice<Booking> findPastByOwnerId(long ownerId, LocalDateTime now,
+                                     LocalDateTime cursorStart, long cursorId, Pageable pageable);
+
+    @Query("select b from Item i, Booking b " +
+            " where i.owner = :ownerId " +
+            "   and b.itemId = i.id " +
+            "   and b.start > :now " +
+            "   and" + BEFORE_CURSOR +
+            NEWEST_FIRST)
+    Slice<Booking> findFutureByOwnerId(long ownerId, LocalDateTime now,
+                                       LocalDateTime cursorStart, long cursorId, Pageable pageable);
+
+    @Query("select b from Item i, Booking b " +
+            " where i.owner = :ownerId " +
+            "   and b.itemId = i.id " +
+            "   and b.status = :status " +
+            "   and" + BEFORE_CURSOR +
+            NEWEST_FIRST)
+    Slice<Booking> findAllByOwnerIdAndStatus(long ownerId, BookingStatus status,
+                                             LocalDateTime cursorStart, long cursorId, Pageable pageable);
+
+    @Query(SHORT_BOOKING +
             "WHERE b.itemId = :itemId " +
             "AND b.bookerId <> :userId " +
             "AND b.start < :now " +
+            "ORDER BY b.start DESC")
+    List<BookingShortDto> findPastItemBookings(long itemId, long userId, LocalDateTime now, Pageable pageable);
+
+    @Query(SHORT_BOOKING +
+            "WHERE b.itemId = :itemId " +
+            "AND b.bookerId <> :userId " +
+            "AND b.start > :now " +
             "ORDER BY b.start ASC")
-    Optional<Booking> findLastBooking(long itemId, long userId, LocalDateTime now);
+    List<BookingShortDto> findFutureItemBookings(long itemId, long userId, LocalDateTime now, Pageable pageable);
+
+    // первая строка из idx_bookings_item_start, без сортировки всех броней вещи
+    default Optional<BookingShortDto> findLastBooking(long itemId, long userId, LocalDateTime now) {
+        return findPastItemBookings(itemId, userId, now, PageRequest.of(0, 1)).stream().findFirst();
+    }
 
+    default Optional<BookingShortDto> findNextBooking(long itemId, long userId, LocalDateTime now) {
+        return findFutureItemBookings(itemId, userId, now, PageRequest.of(0, 1)).stream().findFirst();
+    }
 
-    @Query("SELECT b FROM Booking b " +
+    @Query("SELECT MIN(b.start) FROM Booking b " +
             "WHERE b.itemId = :itemId " +
             "AND b.bookerId <> :userId " +
-            "AND b.start > :now " +
-            "ORDER BY b.start DESC")
-    Optional<Booking> findNextBooking(long itemId, long userId, LocalDateTime now);
+            "AND b.start > :now")
+    Optional<LocalDateTime> findNextBookingStart(long itemId, long userId, LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status, b.version = b.version + 1 " +
+            "WHERE b.id = :id AND b.status = :expected")
+    int updateStatus(long id, BookingStatus expected, BookingStatus status);
+
+    @Query(SHORT_BOOKING +
+            "WHERE b.itemId IN :itemIds " +
+            "AND b.bookerId <> :userId " +
+            "AND b.start = (SELECT MAX(l.start) FROM Booking l " +
+            "               WHERE l.itemId = b.itemId " +
+            "               AND l.bookerId <> :userId " +
+            "               AND l.start < :now)")
+    Collection<BookingShortDto> findLastBookings(Collection<Long> itemIds, long userId, LocalDateTime now);
+
+    @Query(SHORT_BOOKING +
+            "WHERE b.itemId IN :itemIds " +
+            "AND b.bookerId <> :userId " +
+            "AND b.start = (SELECT MIN(n.start) FROM Booking n " +
+            "               WHERE n.itemId = b.itemId " +
+            "               AND n.bookerId <> :userId " +
+            "               AND n.start > :now)")
+    Collection<BookingShortDto> findNextBookings(Collection<Long> itemIds, long userId, LocalDateTime now);
 
 
     Optional<Booking> findByItemIdAndBookerIdAndStatusAndEndBefore(
@@ -1,19 +1,23 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface BookingService {
     BookingFullDto saveBooking(BookingDto bookingDto, Long bookerId);
 
+    List<BookingBatchResultDto> saveBookings(List<BookingDto> bookingDtos, Long bookerId);
+
     Optional<BookingFullDto> updateBooking(Long id, Long ownerId, Boolean approved);
 
-    Collection<BookingFullDto> findUserBookings(long bookerId, String state, int from, int size);
+    Collection<BookingFullDto> findUserBookings(long bookerId, String state, int from, int size, String cursor);
 
-    Collection<BookingFullDto> findOwnerBookings(long ownerId, String state, int from, int size);
+    Collection<BookingFullDto> findOwnerBookings(long ownerId, String state, int from, int size, String cursor);
 
     Optional<BookingFullDto> getBooking(long id, long userId);
 }
@@ -2,12 +2,13 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
 import ru.practicum.shareit.booking.model.Booking;
@@ -18,12 +19,26 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.Keyset;
+import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -31,20 +46,28 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final int BATCH_MAX_SIZE = 500;
+
     private final BookingRepository repository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final UserService userService;
 
     private User validateUser(long userId) {
-        Optional<User> user = userRepository.findById(userId);
+        Optional<UserDto> user = userService.getUser(userId);
         if (!user.isPresent()) {
             throw new NotFoundException(String.format("Пользователь (id = %s) не найден", userId));
         }
-        return user.get();
+        return UserMapper.toUser(user.get());
     }
 
     private Item validateItem(BookingDto bookingDto, Long bookerId) {
-        Optional<Item> item = itemRepository.findById(bookingDto.getItemId());
+        return validateItem(bookingDto, bookerId, itemRepository.findById(bookingDto.getItemId()),
+                () -> repository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(
+                        bookingDto.getItemId(), BookingStatus.APPROVED, bookingDto.getEnd(), bookingDto.getStart()));
+    }
+
+    private Item validateItem(BookingDto bookingDto, Long bookerId, Optional<Item> item, BooleanSupplier isBooked) {
         if (!item.isPresent()) {
             throw new NotFoundException(String.format("Вещь (id = %s) не найдена", bookingDto.getItemId()));
         } else if (!item.get().getAvailable()) {
@@ -52,8 +75,7 @@ public class BookingServiceImpl implements BookingService {
         } else if (bookerId != null && item.get().getOwner().equals(bookerId)) {
             throw new NotFoundException(String.format("Нельзя забронировать вещь (id = %s), являясь её владельцем",
                     bookingDto.getItemId()));
-        } else if (repository.findByItemIdAndStatusAndStartBeforeAndEndAfter(
-                bookingDto.getItemId(), BookingStatus.APPROVED, bookingDto.getEnd(), bookingDto.getStart()).size() > 0) {
+        } else if (isBooked.getAsBoolean()) {
             throw new ValidationException(String.format("Вещь (id = %s) уже забронирована на эти даты", bookingDto.getItemId()));
         }
         return item.get();
@@ -84,7 +106,9 @@ public class BookingServiceImpl implements BookingService {
     }
 
     private void validateBooking(BookingDto bookingDto) {
-        if (bookingDto.getStart().isBefore(LocalDateTime.now())) {
+        if (bookingDto.getItemId() == null || bookingDto.getStart() == null || bookingDto.getEnd() == null) {
+            throw new ValidationException("Не указаны вещь или даты брони");
+        } else if (bookingDto.getStart().isBefore(LocalDateTime.now())) {
             throw new ValidationException(String.format("Дата начала брони (%s) находится в прошлом", bookingDto.getStart()));
         } else if (bookingDto.getEnd().isBefore(LocalDateTime.now())) {
             throw new ValidationException(String.format("Дата окончания брони (%s) находится в прошлом", bookingDto.getEnd()));
@@ -102,9 +126,75 @@ public class BookingServiceImpl implements BookingService {
         User booker = validateUser(bookerId);
         Item item = validateItem(bookingDto, bookerId);
         Booking booking = repository.save(BookingMapper.toBooking(bookingDto, bookerId, BookingStatus.WAITING));
+        itemRepository.incrementETagGeneration(item.getId());
         return BookingMapper.toBookingFullDto(booking, booker, item);
     }
 
+    @Transactional
+    @Override
+    public List<BookingBatchResultDto> saveBookings(List<BookingDto> bookingDtos, Long bookerId) {
+        log.info("Пакетное бронирование ({} заявок) от пользователя (id={})", bookingDtos.size(), bookerId);
+        if (bookingDtos.size() > BATCH_MAX_SIZE) {
+            throw new ValidationException(String.format("В пакете больше %s заявок", BATCH_MAX_SIZE));
+        }
+        User booker = validateUser(bookerId);
+        Set<Long> itemIds = bookingDtos.stream()
+                .map(BookingDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, List<Booking>> approvedBookings = findApprovedBookings(itemIds, bookingDtos);
+
+        List<BookingBatchResultDto> results = new ArrayList<>(bookingDtos.size());
+        List<Booking> bookings = new ArrayList<>();
+        for (BookingDto bookingDto : bookingDtos) {
+            try {
+                validateBooking(bookingDto);
+                validateItem(bookingDto, bookerId, Optional.ofNullable(items.get(bookingDto.getItemId())),
+                        () -> approvedBookings.getOrDefault(bookingDto.getItemId(), List.of()).stream()
+                                .anyMatch(booking -> booking.getStart().isBefore(bookingDto.getEnd())
+                                        && booking.getEnd().isAfter(bookingDto.getStart())));
+                bookings.add(BookingMapper.toBooking(bookingDto, bookerId, BookingStatus.WAITING));
+                results.add(null);
+            } catch (ValidationException e) {
+                results.add(new BookingBatchResultDto(HttpStatus.BAD_REQUEST.value(), null, e.getMessage()));
+            } catch (NotFoundException e) {
+                results.add(new BookingBatchResultDto(HttpStatus.NOT_FOUND.value(), null, e.getMessage()));
+            }
+        }
+        if (bookings.isEmpty()) {
+            return results;
+        }
+
+        Iterator<Booking> savedBookings = repository.saveAll(bookings).iterator();
+        itemRepository.incrementETagGenerations(bookings.stream().map(Booking::getItemId).collect(Collectors.toSet()));
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                Booking booking = savedBookings.next();
+                results.set(i, new BookingBatchResultDto(HttpStatus.CREATED.value(),
+                        BookingMapper.toBookingFullDto(booking, booker, items.get(booking.getItemId())), null));
+            }
+        }
+        return results;
+    }
+
+    // одним запросом все подтверждённые брони, которые могут пересечься с заявками пакета
+    private Map<Long, List<Booking>> findApprovedBookings(Set<Long> itemIds, List<BookingDto> bookingDtos) {
+        List<BookingDto> datedBookings = bookingDtos.stream()
+                .filter(bookingDto -> bookingDto.getStart() != null && bookingDto.getEnd() != null)
+                .collect(Collectors.toList());
+        if (itemIds.isEmpty() || datedBookings.isEmpty()) {
+            return Map.of();
+        }
+        LocalDateTime minStart = datedBookings.stream().map(BookingDto::getStart).min(Comparator.naturalOrder()).get();
+        LocalDateTime maxEnd = datedBookings.stream().map(BookingDto::getEnd).max(Comparator.naturalOrder()).get();
+        return repository.findAllByItemIdInAndStatusAndStartBeforeAndEndAfter(
+                        itemIds, BookingStatus.APPROVED, maxEnd, minStart)
+                .stream()
+                .collect(Collectors.groupingBy(Booking::getItemId));
+    }
+
     @Transactional
     @Override
     public Optional<BookingFullDto> updateBooking(Long id, Long ownerId, Boolean approved) {
@@ -117,63 +207,109 @@ public class BookingServiceImpl implements BookingService {
         }
         User booker = validateUser(booking.getBookerId());
         Item item = validateItem(BookingMapper.toBookingDto(booking), booking.getBookerId());
-        booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        return Optional.of(BookingMapper.toBookingFullDto(repository.save(booking), booker, item));
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        try {
+            // из параллельных подтверждений одной брони статус сменит только первое
+            if (repository.updateStatus(id, BookingStatus.WAITING, status) == 0) {
+                throw new ValidationException(String.format("Статус брони отличен от %s", BookingStatus.WAITING));
+            }
+        } catch (DataIntegrityViolationException e) {
+            if (!isApprovedOverlap(e)) {
+                throw e;
+            }
+            throw new ValidationException(String.format("Вещь (id = %s) уже забронирована на эти даты", item.getId()));
+        }
+        booking.setStatus(status);
+        itemRepository.incrementETagGeneration(item.getId());
+        return Optional.of(BookingMapper.toBookingFullDto(booking, booker, item));
     }
 
     @Override
-    public Collection<BookingFullDto> findUserBookings(long bookerId, String state, int from, int size) {
+    public Collection<BookingFullDto> findUserBookings(long bookerId, String state, int from, int size, String cursor) {
         log.info("Поиск бронирований от пользователя (id={}) для state = {}", bookerId, state);
         BookingState.validateState(state);
         User booker = validateUser(bookerId);
-        int page = validatePage(from, size);
-        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "start"));
-        Page<Booking> bookings;
+        Keyset keyset = Keyset.of(cursor, validatePage(from, size), size);
+        LocalDateTime now = LocalDateTime.now();
+        Slice<Booking> bookings;
         switch (BookingState.valueOf(state)) {
             case ALL:
-                bookings = repository.findAllByBookerId(bookerId, pageRequest);
+                bookings = repository.findAllByBookerId(bookerId,
+                        keyset.getTime(), keyset.getId(), keyset.getPageable());
                 break;
             case CURRENT:
-                bookings = repository.findAllByBookerIdAndStartBeforeAndEndAfter(bookerId, LocalDateTime.now(),
-                        LocalDateTime.now(), pageRequest);
+                bookings = repository.findCurrentByBookerId(bookerId, now,
+                        keyset.getTime(), keyset.getId(), keyset.getPageable());
                 break;
             case PAST:
-                bookings = repository.findAllByBookerIdAndEndBefore(bookerId, LocalDateTime.now(), pageRequest);
+                bookings = repository.findPastByBookerId(bookerId, now,
+                        keyset.getTime(), keyset.getId(), keyset.getPageable());
                 break;
             case FUTURE:
-                bookings = repository.findAllByBookerIdAndStartAfter(bookerId, LocalDateTime.now(), pageRequest);
+                bookings = repository.findFutureByBookerId(bookerId, now,
+                        keyset.getTime(), keyset.getId(), keyset.getPageable());
                 break;
             case WAITING:
             case REJECTED:
-                bookings = repository.findAllByBookerIdAndStatus(bookerId, BookingStatus.valueOf(state), pageRequest);
+                bookings = repository.findAllByBookerIdAndStatus(bookerId, BookingStatus.valueOf(state),
+                        keyset.getTime(), keyset.getId(), keyset.getPageable());
                 break;
             default:
                 throw new ValidationException(String.format("Unknown state: %s", state));
         }
-        return bookings.stream()
-                .map(booking -> BookingMapper.toBookingFullDto(
-                        booking, booker, itemRepository.findById(booking.getItemId()).get()))
-                .collect(Collectors.toList());
+        return toBookingFullDtos(bookings.getContent(), Map.of(bookerId, booker));
     }
 
 
     @Override
-    public Collection<BookingFullDto> findOwnerBookings(long ownerId, String state, int from, int size) {
+    public Collection<BookingFullDto> findOwnerBookings(long ownerId, String state, int from, int size, String cursor) {
         log.info("Поиск бронирований вещей пользователя (id={}) для state = {}", ownerId, state);
         validateUser(ownerId);
         BookingState.validateState(state);
-        try {
-            BookingState bookingState = BookingState.valueOf(state);
-        } catch (Exception e) {
-            throw new ValidationException(String.format("Unknown state: %s", state));
+        Keyset keyset = Keyset.of(cursor, validatePage(from, size), size);
+        LocalDateTime now = LocalDateTime.now();
+        Slice<Booking> slice;
+        switch (BookingState.valueOf(state)) {
+            case ALL:
+                slice = repository.findAllByOwnerId(ownerId,
+                        keyset.getTime(), keyset.getId(), keyset.getPageable());
+                break;
+            case CURRENT:
+                slice = repository.findCurrentByOwnerId(ownerId, now,
+                        keyset.getTime(), keyset.getId(), keyset.getPageable());
+                break;
+            case PAST:
+                slice = repository.findPastByOwnerId(ownerId, now,
+                        keyset.getTime(), keyset.getId(), keyset.getPageable());
+                break;
+            case FUTURE:
+                slice = repository.findFutureByOwnerId(ownerId, now,
+                        keyset.getTime(), keyset.getId(), keyset.getPageable());
+                break;
+            case WAITING:
+            case REJECTED:
+                slice = repository.findAllByOwnerIdAndStatus(ownerId, BookingStatus.valueOf(state),
+                        keyset.getTime(), keyset.getId(), keyset.getPageable());
+                break;
+            default:
+                throw new ValidationException(String.format("Unknown state: %s", state));
         }
-        int page = validatePage(from, size);
-        return repository.findAllByOwnerId(ownerId, state, LocalDateTime.now(),
-                        PageRequest.of(page, size))
+        List<Booking> bookings = slice.getContent();
+        Set<Long> bookerIds = bookings.stream().map(Booking::getBookerId).collect(Collectors.toSet());
+        Map<Long, User> bookers = userRepository.findAllById(bookerIds)
                 .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return toBookingFullDtos(bookings, bookers);
+    }
+
+    private List<BookingFullDto> toBookingFullDtos(List<Booking> bookings, Map<Long, User> bookers) {
+        Set<Long> itemIds = bookings.stream().map(Booking::getItemId).collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findAllById(itemIds)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return bookings.stream()
                 .map(booking -> BookingMapper.toBookingFullDto(booking,
-                        userRepository.findById(booking.getBookerId()).get(),
-                        itemRepository.findById(booking.getItemId()).get()))
+                        bookers.get(booking.getBookerId()), items.get(booking.getItemId())))
                 .collect(Collectors.toList());
     }
 
@@ -186,6 +322,13 @@ public class BookingServiceImpl implements BookingService {
         return Optional.of(BookingMapper.toBookingFullDto(booking, booker, item));
     }
 
+    // пересечение с другой подтверждённой бронью: exclusion_violation на bookings_approved_no_overlap
+    private boolean isApprovedOverlap(DataIntegrityViolationException e) {
+        Throwable cause = e.getMostSpecificCause();
+        return cause instanceof SQLException && "23P01".equals(((SQLException) cause).getSQLState())
+                || String.valueOf(cause.getMessage()).contains("bookings_approved_no_overlap");
+    }
+
     private int validatePage(int from, int size) {
         if (size <= 0) {
             throw new ValidationException(String.format("Параметр size (%s) задан некорректно", size));
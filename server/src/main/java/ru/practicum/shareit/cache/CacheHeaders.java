@@ -0,0 +1,79 @@
+package ru.practicum.shareit.cache;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public class CacheHeaders {
+    public static final String INVALIDATE_HEADER = "X-Cache-Invalidate";
+    // ответы зависят от пользователя (last/next booking, свои запросы), общим кэшам их хранить нельзя
+    public static final String VARY_BY = "X-Sharer-User-Id";
+    public static final Duration MAX_AGE = Duration.ofMinutes(1);
+    public static final String USERS = "/users";
+    public static final String ITEMS = "/items";
+    public static final String REQUESTS = "/requests";
+
+    public static <T> ResponseEntity<T> cacheable(T body) {
+        return cacheable(body, MAX_AGE);
+    }
+
+    public static <T> ResponseEntity<T> cacheable(T body, Duration maxAge) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .cacheControl(CacheControl.maxAge(maxAge).cachePrivate())
+                .varyBy(VARY_BY)
+                .body(body);
+    }
+
+    public static <T> ResponseEntity<T> cacheable(T body, ResourceVersion version) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(version.getETag())
+                .cacheControl(CacheControl.maxAge(maxAgeUntil(version.getChangesAt())).cachePrivate())
+                .varyBy(VARY_BY)
+                .body(body);
+    }
+
+    public static boolean isNotModified(String ifNoneMatch, ResourceVersion version) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String eTag : ifNoneMatch.split(",")) {
+            eTag = eTag.trim();
+            if (eTag.equals("*") || eTag.equals(version.getETag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static <T> ResponseEntity<T> notModified(ResourceVersion version) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(version.getETag())
+                .cacheControl(CacheControl.maxAge(maxAgeUntil(version.getChangesAt())).cachePrivate())
+                .varyBy(VARY_BY)
+                .build();
+    }
+
+    private static Duration maxAgeUntil(LocalDateTime changesAt) {
+        if (changesAt == null) {
+            return MAX_AGE;
+        }
+        Duration untilChange = Duration.between(LocalDateTime.now(), changesAt);
+        if (untilChange.isNegative()) {
+            return Duration.ZERO;
+        }
+        return untilChange.compareTo(MAX_AGE) < 0 ? untilChange : MAX_AGE;
+    }
+
+    public static <T> ResponseEntity<T> invalidating(HttpStatus status, T body, String... paths) {
+        return ResponseEntity.status(status)
+                .header(INVALIDATE_HEADER, paths)
+                .body(body);
+    }
+
+    public static String item(long itemId) {
+        return ITEMS + "/" + itemId;
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.cache;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ResourceVersion {
+    private final String eTag;
+    private final LocalDateTime changesAt; // null - меняется только при записи
+
+    public static ResourceVersion of(LocalDateTime changesAt, Object... parts) {
+        return new ResourceVersion(Arrays.stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining("-", "\"", "\"")), changesAt);
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -31,4 +32,13 @@ public class ErrorHandler {
                 e.getMessage()
         );
     }
+
+    // запись изменили параллельно между чтением и сохранением, клиенту достаточно повторить запрос
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleOptimisticLockingFailureException(final OptimisticLockingFailureException e) {
+        return new ErrorResponse(
+                "The resource was modified concurrently, retry the request"
+        );
+    }
 }
@@ -1,16 +1,22 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.cache.CacheHeaders;
+import ru.practicum.shareit.cache.ResourceVersion;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemFullDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.Keyset;
 
 import javax.validation.Valid;
 import java.util.Collection;
+import java.util.Optional;
 
 @RestController
 @RequiredArgsConstructor
@@ -27,41 +33,71 @@ public class ItemController {
     @PostMapping
     public ResponseEntity<ItemDto> createItem(@RequestBody ItemDto itemDto,
                                               @RequestHeader(X_SHARER_USER_ID) Long userId) {
-        return new ResponseEntity<>(itemService.saveItem(itemDto, userId), HttpStatus.CREATED);
+        ItemDto savedItem = itemService.saveItem(itemDto, userId);
+        if (savedItem.getRequestId() == null) {
+            return new ResponseEntity<>(savedItem, HttpStatus.CREATED);
+        }
+        return CacheHeaders.invalidating(HttpStatus.CREATED, savedItem, CacheHeaders.REQUESTS);
     }
 
     @PatchMapping("/{id}")
     public ResponseEntity<ItemDto> updateItem(@PathVariable Long id,
                                               @RequestBody ItemDto itemDto,
                                               @RequestHeader(X_SHARER_USER_ID) Long userId) {
-        return itemService.updateItem(id, itemDto, userId).map(updatedItem -> new ResponseEntity<>(updatedItem, HttpStatus.OK))
+        return itemService.updateItem(id, itemDto, userId)
+                .map(updatedItem -> CacheHeaders.invalidating(HttpStatus.OK, updatedItem,
+                        CacheHeaders.item(id), CacheHeaders.REQUESTS))
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ItemFullDto> findItemById(@PathVariable Long id,
-                                                    @RequestHeader(X_SHARER_USER_ID) Long userId) {
-        return itemService.getItem(id, userId).map(item -> new ResponseEntity<>(item, HttpStatus.OK))
+                                                    @RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH,
+                                                            required = false) String ifNoneMatch) {
+        Optional<ResourceVersion> version = itemService.getItemVersion(id, userId);
+        if (version.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } else if (CacheHeaders.isNotModified(ifNoneMatch, version.get())) {
+            return CacheHeaders.notModified(version.get());
+        }
+        return itemService.getItem(id, userId)
+                .map(item -> CacheHeaders.cacheable(item, version.get()))
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<ItemDto> deleteItemById(@PathVariable Long id,
                                                   @RequestHeader(X_SHARER_USER_ID) Long userId) {
-        return itemService.deleteItem(id, userId) ? new ResponseEntity<>(HttpStatus.OK)
+        return itemService.deleteItem(id, userId)
+                ? CacheHeaders.invalidating(HttpStatus.OK, null, CacheHeaders.item(id), CacheHeaders.REQUESTS)
                 : new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
 
     @GetMapping("/search")
-    public Collection<ItemDto> searchItems(@RequestParam(required = false) String text) {
-        return itemService.searchItems(text);
+    public ResponseEntity<Collection<ItemDto>> searchItems(@RequestParam(required = false) String text,
+                                                           @RequestParam(defaultValue = "0") Integer from,
+                                                           @RequestParam(defaultValue = "20") Integer size,
+                                                           @RequestParam(required = false) String cursor) {
+        return Cursor.withNextCursor(itemService.searchItems(text, from, size, cursor), size,
+                item -> Cursor.encode(item.getId()));
+    }
+
+    @GetMapping("/{id}/comments")
+    public ResponseEntity<Collection<CommentDto>> findItemComments(@PathVariable Long id,
+                                                                   @RequestParam(defaultValue = "0") Integer from,
+                                                                   @RequestParam(defaultValue = "20") Integer size,
+                                                                   @RequestParam(required = false) String cursor) {
+        return Cursor.withNextCursor(itemService.findItemComments(id, from, size, cursor), size,
+                comment -> Keyset.encode(comment.getCreated(), comment.getId()));
     }
 
     @PostMapping("/{id}/comment")
     public ResponseEntity<CommentDto> addItemComment(@PathVariable Long id,
                                                      @Valid @RequestBody CommentDto commentDto,
                                                      @RequestHeader(X_SHARER_USER_ID) Long userId) {
-        return itemService.addItemComment(id, userId, commentDto).map(comment -> new ResponseEntity<>(comment, HttpStatus.OK))
+        return itemService.addItemComment(id, userId, commentDto)
+                .map(comment -> CacheHeaders.invalidating(HttpStatus.OK, comment, CacheHeaders.item(id)))
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 }
@@ -1,7 +1,7 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.stereotype.Component;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemFullDto;
@@ -43,8 +43,8 @@ public class ItemMapper {
     }
 
     public static ItemFullDto toItemFullDto(Item item,
-                                            Optional<Booking> lastBooking,
-                                            Optional<Booking> nextBooking,
+                                            Optional<BookingShortDto> lastBooking,
+                                            Optional<BookingShortDto> nextBooking,
                                             Collection<CommentDto> comments) {
         ItemFullDto itemFullDto = new ItemFullDto();
         if (item != null) {
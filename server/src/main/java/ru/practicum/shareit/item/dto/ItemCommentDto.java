@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ItemCommentDto extends CommentDto {
+    @JsonIgnore
+    Long itemId; // нужен только для группировки отзывов по вещам
+
+    public ItemCommentDto(Long itemId, Long id, String text, String authorName, LocalDateTime created) {
+        super(id, text, authorName, created);
+        this.itemId = itemId;
+    }
+}
@@ -4,7 +4,7 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 
 import java.util.Collection;
 
@@ -16,8 +16,8 @@ public class ItemFullDto {
     String name;
     String description;
     Boolean available;
-    Booking lastBooking;
-    Booking nextBooking;
+    BookingShortDto lastBooking;
+    BookingShortDto nextBooking;
     Collection<CommentDto> comments;
     Long requestId;
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
@@ -14,7 +15,8 @@ import javax.persistence.*;
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     long id;
     @Column
     String name;
@@ -26,4 +28,11 @@ public class Item {
     Long owner;
     @Column(name = "request_id")
     Long requestId;
+    @Version
+    @JsonIgnore
+    long version;
+    // меняется только запросами ItemRepository, см. incrementETagGeneration
+    @Column(name = "etag_generation", insertable = false, updatable = false)
+    @JsonIgnore
+    long etagGeneration;
 }
@@ -1,12 +1,41 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemCommentDto;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    Collection<Comment> findAllByItemIdOrderByCreatedDesc(long itemId);
+    // имя автора подтягивается тем же запросом, без обращения к users на каждый отзыв
+    String AUTHOR_JOIN = " FROM Comment c, User u WHERE u.id = c.authorId ";
+    String NEWEST_FIRST = " ORDER BY c.created DESC, c.id DESC";
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentDto(c.id, c.text, u.name, c.created)" +
+            AUTHOR_JOIN +
+            "AND c.itemId = :itemId " +
+            "AND (c.created < :cursorCreated OR (c.created = :cursorCreated AND c.id < :cursorId))" +
+            NEWEST_FIRST)
+    List<CommentDto> findItemComments(long itemId, LocalDateTime cursorCreated, long cursorId, Pageable pageable);
+
+    // не больше limit последних отзывов на каждую вещь: отбор в БД, а не после загрузки всех отзывов
+    @Query(value = "SELECT r.id FROM (" +
+            "SELECT c.id, ROW_NUMBER() OVER (PARTITION BY c.item_id ORDER BY c.created DESC, c.id DESC) AS rn " +
+            "FROM comments c WHERE c.item_id IN :itemIds) r " +
+            "WHERE r.rn <= :limit",
+            nativeQuery = true)
+    List<Long> findLastCommentIds(Collection<Long> itemIds, int limit);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemCommentDto(c.itemId, c.id, c.text, u.name, c.created)" +
+            AUTHOR_JOIN +
+            "AND c.id IN :ids" +
+            NEWEST_FIRST)
+    Collection<ItemCommentDto> findItemsComments(Collection<Long> ids);
 }
@@ -1,22 +1,55 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    String SHORT_ITEM = "SELECT new ru.practicum.shareit.item.dto.ItemShortDto(" +
+            "i.id, i.name, i.description, i.available, i.owner, i.requestId) FROM Item i ";
+
     Collection<Item> findByOwnerOrderById(long userId);
 
     @Query(" select i from Item i " +
             " where i.available = true" +
+            "   and i.id > ?2" +
             "   and (upper(i.name) like upper(concat('%', ?1, '%')) or " +
-            "        upper(i.description) like upper(concat('%', ?1, '%')))")
-    Collection<Item> search(String text);
+            "        upper(i.description) like upper(concat('%', ?1, '%')))" +
+            " order by i.id")
+    List<Item> search(String text, long afterId, Pageable pageable);
+
+    @Query(SHORT_ITEM + "WHERE i.requestId = :requestId ORDER BY i.id")
+    List<ItemShortDto> findByRequestId(long requestId);
+
+    @Query(SHORT_ITEM + "WHERE i.requestId IN :requestIds ORDER BY i.id")
+    List<ItemShortDto> findByRequestIdIn(Collection<Long> requestIds);
+
+    // обе части только растут, поэтому сумма меняется при любом изменении вещи, её броней или отзывов
+    @Query("SELECT i.version + i.etagGeneration FROM Item i WHERE i.id = :id")
+    Optional<Long> findVersionById(long id);
+
+    // брони и отзывы входят в ItemFullDto, поэтому меняют ETag вещи;
+    // version не трогаем, иначе параллельный updateItem упадёт на оптимистической блокировке
+    @Modifying
+    @Query("UPDATE Item i SET i.etagGeneration = i.etagGeneration + 1 WHERE i.id = :id")
+    void incrementETagGeneration(long id);
 
+    @Modifying
+    @Query("UPDATE Item i SET i.etagGeneration = i.etagGeneration + 1 WHERE i.id IN :ids")
+    void incrementETagGenerations(Collection<Long> ids);
 
-    Collection<Item> findByRequestId(long requestId);
+    // имя автора входит в отзывы, показываемые с вещью
+    @Modifying
+    @Query("UPDATE Item i SET i.etagGeneration = i.etagGeneration + 1 " +
+            "WHERE i.id IN (SELECT c.itemId FROM Comment c WHERE c.authorId = :authorId)")
+    void incrementCommentedItemsETagGeneration(long authorId);
 }
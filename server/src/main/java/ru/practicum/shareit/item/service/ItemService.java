@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.cache.ResourceVersion;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemFullDto;
@@ -18,7 +19,11 @@ public interface ItemService {
 
     Optional<ItemFullDto> getItem(long id, long userId);
 
-    Collection<ItemDto> searchItems(String text);
+    Optional<ResourceVersion> getItemVersion(long id, long userId);
+
+    Collection<ItemDto> searchItems(String text, int from, int size, String cursor);
+
+    Collection<CommentDto> findItemComments(long itemId, int from, int size, String cursor);
 
     Optional<CommentDto> addItemComment(long itemId, long userId, CommentDto commentDto);
 
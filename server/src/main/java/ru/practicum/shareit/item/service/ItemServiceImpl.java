@@ -1,29 +1,43 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.cache.ResourceVersion;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.CommentMapper;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemCommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemFullDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.Keyset;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Transactional(readOnly = true)
@@ -31,31 +45,57 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
     private final ItemRepository repository;
-    private final UserRepository userRepository;
-
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
+    private final ItemRequestRepository requestRepository;
+    private final UserService userService;
+
+    // сколько последних отзывов встраивается в ItemFullDto, остальные отдаются постранично
+    @Value("${shareit.item.embedded-comments:20}")
+    private int embeddedComments = 20;
 
     @Override
     public Collection<ItemFullDto> findUserItems(long userId) {
-        return repository.findByOwnerOrderById(userId)
-                .stream()
+        Collection<Item> items = repository.findByOwnerOrderById(userId);
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BookingShortDto> lastBookings = groupBookingsByItem(bookingRepository.findLastBookings(itemIds, userId, now));
+        Map<Long, BookingShortDto> nextBookings = groupBookingsByItem(bookingRepository.findNextBookings(itemIds, userId, now));
+        Map<Long, List<CommentDto>> comments = findItemsComments(itemIds);
+        return items.stream()
                 .map(item -> ItemMapper.toItemFullDto(item,
-                        bookingRepository.findLastBooking(item.getId(), userId, LocalDateTime.now()),
-                        bookingRepository.findNextBooking(item.getId(), userId, LocalDateTime.now()),
-                        commentRepository.findAllByItemIdOrderByCreatedDesc(item.getId())
-                                .stream()
-                                .map(comment -> CommentMapper.toCommentDto(comment, validateUser(comment.getAuthorId()).getName()))
-                                .collect(Collectors.toList())))
+                        Optional.ofNullable(lastBookings.get(item.getId())),
+                        Optional.ofNullable(nextBookings.get(item.getId())),
+                        comments.get(item.getId())))
                 .collect(Collectors.toList());
     }
 
+    private Map<Long, BookingShortDto> groupBookingsByItem(Collection<BookingShortDto> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(BookingShortDto::getItemId, Function.identity(), (first, second) -> first));
+    }
+
+    private Map<Long, List<CommentDto>> findItemsComments(Collection<Long> itemIds) {
+        Map<Long, List<CommentDto>> comments = new HashMap<>();
+        List<Long> commentIds = commentRepository.findLastCommentIds(itemIds, embeddedComments);
+        if (commentIds.isEmpty()) {
+            return comments;
+        }
+        for (ItemCommentDto comment : commentRepository.findItemsComments(commentIds)) {
+            comments.computeIfAbsent(comment.getItemId(), id -> new ArrayList<>()).add(comment);
+        }
+        return comments;
+    }
+
     private User validateUser(long userId) {
-        Optional<User> user = userRepository.findById(userId);
+        Optional<UserDto> user = userService.getUser(userId);
         if (!user.isPresent()) {
             throw new NotFoundException(String.format("User (id = %s) not found", userId));
         }
-        return user.get();
+        return UserMapper.toUser(user.get());
     }
 
     private Optional<Item> validateUserItem(long itemId, long userId) {
@@ -88,6 +128,9 @@ public class ItemServiceImpl implements ItemService {
             throw new ValidationException("The status of the item has not been transferred");
         }
         Item item = ItemMapper.toItem(itemDto, userId);
+        if (item.getRequestId() != null) {
+            requestRepository.incrementVersion(item.getRequestId());
+        }
         return ItemMapper.toItemDto(repository.save(item));
     }
 
@@ -98,6 +141,9 @@ public class ItemServiceImpl implements ItemService {
         Optional<Item> itemOld = validateUserItem(itemId, userId);
         Item item = ItemMapper.toItem(itemDto, itemOld.get());
         repository.save(item);
+        if (item.getRequestId() != null) {
+            requestRepository.incrementVersion(item.getRequestId());
+        }
         return Optional.of(ItemMapper.toItemDto(item));
     }
 
@@ -108,6 +154,9 @@ public class ItemServiceImpl implements ItemService {
         Optional<Item> item = repository.findById(id);
         if (item.isPresent()) {
             repository.deleteById(id);
+            if (item.get().getRequestId() != null) {
+                requestRepository.incrementVersion(item.get().getRequestId());
+            }
             return true;
         } else {
             return false;
@@ -121,19 +170,55 @@ public class ItemServiceImpl implements ItemService {
             return Optional.of(ItemMapper.toItemFullDto(item.get(),
                     bookingRepository.findLastBooking(id, userId, LocalDateTime.now()),
                     bookingRepository.findNextBooking(id, userId, LocalDateTime.now()),
-                    commentRepository.findAllByItemIdOrderByCreatedDesc(id)
-                            .stream()
-                            .map(comment -> CommentMapper.toCommentDto(comment, validateUser(comment.getAuthorId()).getName()))
-                            .collect(Collectors.toList())));
+                    findLastItemComments(id)));
         } else {
             return Optional.empty();
         }
     }
 
+    private List<CommentDto> findLastItemComments(long itemId) {
+        Keyset keyset = Keyset.of(null, 0, embeddedComments);
+        return commentRepository.findItemComments(itemId, keyset.getTime(), keyset.getId(), keyset.getPageable());
+    }
+
+    @Override
+    public Collection<CommentDto> findItemComments(long itemId, int from, int size, String cursor) {
+        Keyset keyset = Keyset.of(cursor, validatePage(from, size), size);
+        if (!repository.existsById(itemId)) {
+            throw new NotFoundException(String.format("Item (id = %s) not found", itemId));
+        }
+        return commentRepository.findItemComments(itemId, keyset.getTime(), keyset.getId(), keyset.getPageable());
+    }
+
     @Override
-    public Collection<ItemDto> searchItems(String text) {
-        Collection<Item> items = text == null || text.isBlank() ? new ArrayList<>() : repository.search(text);
-        return items.stream().map(item -> ItemMapper.toItemDto(item)).collect(Collectors.toList());
+    public Optional<ResourceVersion> getItemVersion(long id, long userId) {
+        return repository.findVersionById(id).map(version -> {
+            LocalDateTime nextStart = bookingRepository.findNextBookingStart(id, userId, LocalDateTime.now())
+                    .orElse(null);
+            return ResourceVersion.of(nextStart, "item", id, version, userId, nextStart);
+        });
+    }
+
+    @Override
+    public Collection<ItemDto> searchItems(String text, int from, int size, String cursor) {
+        int page = validatePage(from, size);
+        if (text == null || text.isBlank()) {
+            return new ArrayList<>();
+        }
+        List<Item> items = cursor == null
+                ? repository.search(text, 0, PageRequest.of(page, size))
+                : repository.search(text, Cursor.decodeId(cursor), PageRequest.of(0, size));
+        return items.stream().map(ItemMapper::toItemDto).collect(Collectors.toList());
+    }
+
+    private int validatePage(int from, int size) {
+        if (size <= 0) {
+            throw new ValidationException(String.format("Parameter size (%s) is incorrect", size));
+        }
+        if (from < 0) {
+            throw new ValidationException(String.format("Parameter from (%s) is incorrect", from));
+        }
+        return from / size;
     }
 
     @Transactional
@@ -142,6 +227,7 @@ public class ItemServiceImpl implements ItemService {
         User user = validateUser(userId);
         if (validateBookingItem(itemId, userId)) {
             Comment comment = commentRepository.save(CommentMapper.toComment(commentDto, itemId, userId));
+            repository.incrementETagGeneration(itemId);
             return Optional.of(CommentMapper.toCommentDto(comment, user.getName()));
         } else {
             return Optional.empty();
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class Cursor {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String SEPARATOR = "|";
+
+    public static String encode(Object... keys) {
+        String value = Stream.of(keys).map(String::valueOf).collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int keyCount) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] keys = value.split(Pattern.quote(SEPARATOR), -1);
+            if (keys.length == keyCount) {
+                return keys;
+            }
+        } catch (IllegalArgumentException ignored) {
+            // fall through to the validation error below
+        }
+        throw new ValidationException(String.format("Параметр cursor (%s) задан некорректно", cursor));
+    }
+
+    public static long decodeId(String cursor) {
+        String key = decode(cursor, 1)[0];
+        try {
+            return Long.parseLong(key);
+        } catch (NumberFormatException e) {
+            throw new ValidationException(String.format("Параметр cursor (%s) задан некорректно", cursor));
+        }
+    }
+
+    public static <T> ResponseEntity<Collection<T>> withNextCursor(Collection<T> page, int size,
+                                                                   Function<T, String> cursorOf) {
+        List<T> content = List.copyOf(page);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK);
+        if (!content.isEmpty() && content.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, cursorOf.apply(content.get(content.size() - 1)));
+        }
+        return response.body(content);
+    }
+}
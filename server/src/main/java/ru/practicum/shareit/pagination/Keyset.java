@@ -0,0 +1,42 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class Keyset {
+    private static final LocalDateTime FIRST_PAGE_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    LocalDateTime time; // значение времени последней записи предыдущей страницы
+    long id; // идентификатор последней записи предыдущей страницы
+    Pageable pageable;
+
+    public static Keyset of(String cursor, int page, int size) {
+        if (cursor == null) {
+            return new Keyset(FIRST_PAGE_TIME, Long.MAX_VALUE, PageRequest.of(page, size));
+        }
+        String[] keys = Cursor.decode(cursor, 2);
+        try {
+            // в БД время хранится с точностью до микросекунд
+            LocalDateTime time = LocalDateTime.parse(keys[0]).truncatedTo(ChronoUnit.MICROS);
+            return new Keyset(time, Long.parseLong(keys[1]), PageRequest.of(0, size));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new ValidationException(String.format("Параметр cursor (%s) задан некорректно", cursor));
+        }
+    }
+
+    public static String encode(LocalDateTime time, long id) {
+        return Cursor.encode(time, id);
+    }
+}
@@ -1,9 +1,14 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.cache.CacheHeaders;
+import ru.practicum.shareit.cache.ResourceVersion;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.Keyset;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestFullDto;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -11,6 +16,7 @@ import ru.practicum.shareit.request.service.ItemRequestService;
 
 import javax.validation.Valid;
 import java.util.Collection;
+import java.util.Optional;
 
 @RestController
 @RequiredArgsConstructor
@@ -22,27 +28,40 @@ public class ItemRequestController {
     @PostMapping
     public ResponseEntity<ItemRequest> createItemRequest(@Valid @RequestBody ItemRequestDto itemRequestDto,
                                                          @RequestHeader(X_SHARER_USER_ID) Long userId) {
-        return new ResponseEntity<>(service.saveItemRequest(itemRequestDto, userId), HttpStatus.OK);
+        return CacheHeaders.invalidating(HttpStatus.OK, service.saveItemRequest(itemRequestDto, userId),
+                CacheHeaders.REQUESTS);
     }
 
     @GetMapping
-    public Collection<ItemRequestFullDto> findUserItemRequests(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                                               @RequestParam(defaultValue = "0") Integer from,
-                                                               @RequestParam(defaultValue = "20") Integer size) {
-        return service.findUserItemRequests(userId, from, size);
+    public ResponseEntity<Collection<ItemRequestFullDto>> findUserItemRequests(
+            @RequestHeader(X_SHARER_USER_ID) Long userId,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "20") Integer size) {
+        return CacheHeaders.cacheable(service.findUserItemRequests(userId, from, size));
     }
 
     @GetMapping("/all")
-    public Collection<ItemRequestFullDto> findAllItemRequests(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                                              @RequestParam(defaultValue = "0") Integer from,
-                                                              @RequestParam(defaultValue = "20") Integer size) {
-        return service.findAllItemRequests(userId, from, size);
+    public ResponseEntity<Collection<ItemRequestFullDto>> findAllItemRequests(
+            @RequestHeader(X_SHARER_USER_ID) Long userId,
+            @RequestParam(defaultValue = "0") Integer from,
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String cursor) {
+        return Cursor.withNextCursor(service.findAllItemRequests(userId, from, size, cursor), size,
+                request -> Keyset.encode(request.getCreated(), request.getId()));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ItemRequestFullDto> findItemById(@PathVariable Long id,
-                                                           @RequestHeader(X_SHARER_USER_ID) Long userId) {
-        return service.getItemRequest(id, userId).map(itemRequest -> new ResponseEntity<>(itemRequest, HttpStatus.OK))
+                                                           @RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH,
+                                                                   required = false) String ifNoneMatch) {
+        Optional<ResourceVersion> version = service.getItemRequestVersion(id, userId);
+        if (version.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } else if (CacheHeaders.isNotModified(ifNoneMatch, version.get())) {
+            return CacheHeaders.notModified(version.get());
+        }
+        return service.getItemRequest(id, userId).map(request -> CacheHeaders.cacheable(request, version.get()))
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 }
@@ -1,11 +1,12 @@
 package ru.practicum.shareit.request;
 
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestFullDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collection;
 
@@ -15,12 +16,13 @@ public class ItemRequestMapper {
         ItemRequest itemRequest = new ItemRequest();
         itemRequest.setDescription(itemRequestDto.getDescription());
         itemRequest.setRequestor(userId);
-        itemRequest.setCreated(LocalDateTime.now());
+        // в БД время хранится с точностью до микросекунд, ленте запросов нужно то же значение
+        itemRequest.setCreated(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
         return itemRequest;
     }
 
     public static ItemRequestFullDto toItemRequestFullDto(ItemRequest itemRequest,
-                                                          Collection<Item> items) {
+                                                          Collection<ItemShortDto> items) {
         ItemRequestFullDto itemRequestFullDto = new ItemRequestFullDto();
         if (itemRequest != null) {
             itemRequestFullDto.setId(itemRequest.getId());
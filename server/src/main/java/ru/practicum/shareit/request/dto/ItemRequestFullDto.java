@@ -4,7 +4,7 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.dto.ItemShortDto;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
@@ -16,5 +16,5 @@ public class ItemRequestFullDto {
     Long id;
     String description;
     LocalDateTime created;
-    Collection<Item> items;
+    Collection<ItemShortDto> items;
 }
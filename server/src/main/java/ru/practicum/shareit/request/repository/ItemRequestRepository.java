@@ -1,15 +1,35 @@
 package ru.practicum.shareit.request.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    Page<ItemRequest> findByRequestorOrderByCreatedDesc(long userId, Pageable pageable);
+    // Slice вместо Page: общее количество не нужно, лишний count-запрос не выполняется
+    Slice<ItemRequest> findByRequestorOrderByCreatedDesc(long userId, Pageable pageable);
 
-    Page<ItemRequest> findByRequestorNotOrderByCreatedDesc(long userId, Pageable pageable);
-}
+    // лента идёт по индексу (created desc, id desc), чужие запросы отбираются по ходу сканирования
+    @Query("select r from ItemRequest r " +
+            " where (r.created < :cursorCreated or (r.created = :cursorCreated and r.id < :cursorId)) " +
+            "   and r.requestor <> :userId " +
+            " order by r.created desc, r.id desc")
+    Slice<ItemRequest> findFeed(long userId, LocalDateTime cursorCreated, long cursorId, Pageable pageable);
+
+    Slice<ItemRequest> findAllByOrderByCreatedDescIdDesc(Pageable pageable);
 
+    @Query("SELECT r.version FROM ItemRequest r WHERE r.id = :id")
+    Optional<Long> findVersionById(long id);
+
+    // ответы на запрос входят в ItemRequestFullDto
+    @Modifying
+    @Query("UPDATE ItemRequest r SET r.version = r.version + 1 WHERE r.id = :id")
+    void incrementVersion(long id);
+}
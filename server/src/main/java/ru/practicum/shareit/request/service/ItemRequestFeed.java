@@ -0,0 +1,82 @@
+package ru.practicum.shareit.request.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+// последние запросы в памяти: первая страница ленты /requests/all отдаётся без обращения к БД
+@Component
+public class ItemRequestFeed {
+    private static final Comparator<ItemRequest> NEWEST_FIRST = Comparator
+            .comparing(ItemRequest::getCreated)
+            .thenComparing(ItemRequest::getId)
+            .reversed();
+
+    private final ItemRequestRepository repository;
+    private final int capacity;
+    // упорядочен как индекс ленты, поэтому порядок фиксации транзакций не важен
+    private final NavigableSet<ItemRequest> requests = new ConcurrentSkipListSet<>(NEWEST_FIRST);
+    private volatile boolean loaded;
+    private volatile boolean complete; // в буфере лежат все запросы из БД
+
+    public ItemRequestFeed(ItemRequestRepository repository,
+                           @Value("${shareit.request.feed-size}") int capacity) {
+        this.repository = repository;
+        this.capacity = capacity;
+    }
+
+    // пусто - в буфере не набралось целой страницы, её нужно читать из БД
+    public Optional<List<ItemRequest>> firstPage(long userId, int size) {
+        if (capacity <= 0) {
+            return Optional.empty();
+        }
+        load();
+        List<ItemRequest> page = requests.stream()
+                .filter(itemRequest -> itemRequest.getRequestor() != userId)
+                .limit(size)
+                .collect(Collectors.toList());
+        return page.size() == size || complete ? Optional.of(page) : Optional.empty();
+    }
+
+    // вызывается после фиксации транзакции, создавшей запрос
+    public synchronized void add(ItemRequest itemRequest) {
+        if (capacity <= 0) {
+            return;
+        }
+        requests.add(itemRequest);
+        trim();
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                List<ItemRequest> newest = repository
+                        .findAllByOrderByCreatedDescIdDesc(PageRequest.of(0, capacity))
+                        .getContent();
+                requests.addAll(newest);
+                complete = newest.size() < capacity;
+                trim();
+                loaded = true;
+            }
+        }
+    }
+
+    private void trim() {
+        while (requests.size() > capacity) {
+            requests.pollLast();
+            complete = false;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.cache.ResourceVersion;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestFullDto;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -10,9 +11,11 @@ import java.util.Optional;
 public interface ItemRequestService {
     ItemRequest saveItemRequest(ItemRequestDto itemRequestDto, long userId);
 
-    Collection<ItemRequestFullDto> findAllItemRequests(long userId, int from, int size);
+    Collection<ItemRequestFullDto> findAllItemRequests(long userId, int from, int size, String cursor);
 
     Collection<ItemRequestFullDto> findUserItemRequests(long userId, int from, int size);
 
     Optional<ItemRequestFullDto> getItemRequest(long id, long userId);
+
+    Optional<ResourceVersion> getItemRequestVersion(long id, long userId);
 }
\ No newline at end of file
@@ -5,18 +5,26 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.cache.ResourceVersion;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.Keyset;
 import ru.practicum.shareit.request.ItemRequestMapper;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestFullDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
-import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -27,14 +35,14 @@ import java.util.stream.Collectors;
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository repository;
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
+    private final UserService userService;
+    private final ItemRequestFeed feed;
 
-    private User validateUser(long userId) {
-        Optional<User> user = userRepository.findById(userId);
+    private void validateUser(long userId) {
+        Optional<UserDto> user = userService.getUser(userId);
         if (!user.isPresent()) {
             throw new NotFoundException(String.format("Пользователь (id = %s) не найден", userId));
         }
-        return user.get();
     }
 
     private int validatePage(int from, int size) {
@@ -56,22 +64,30 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public ItemRequest saveItemRequest(ItemRequestDto itemRequestDto, long userId) {
         log.info("Добавление запроса ({}) пользователем (id={})", itemRequestDto.toString(), userId);
         validateUser(userId);
-        ItemRequest itemRequest = ItemRequestMapper.toItemRequest(itemRequestDto, userId);
-        return repository.save(itemRequest);
+        ItemRequest itemRequest = repository.save(ItemRequestMapper.toItemRequest(itemRequestDto, userId));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                feed.add(itemRequest);
+            }
+        });
+        return itemRequest;
     }
 
     @Override
-    public Collection<ItemRequestFullDto> findAllItemRequests(long userId, int from, int size) {
+    public Collection<ItemRequestFullDto> findAllItemRequests(long userId, int from, int size, String cursor) {
         log.info("Поиск всех запросов не от пользователя (id={})", userId);
         validateUser(userId);
         int page = validatePage(from, size);
-        return repository.findByRequestorNotOrderByCreatedDesc(userId, PageRequest.of(page, size))
-                .stream()
-                .map(itemRequest -> ItemRequestMapper.toItemRequestFullDto(itemRequest,
-                        itemRepository.findByRequestId(itemRequest.getId())
-                                .stream()
-                                .collect(Collectors.toList())))
-                .collect(Collectors.toList());
+        if (cursor == null && page == 0) {
+            Optional<List<ItemRequest>> firstPage = feed.firstPage(userId, size);
+            if (firstPage.isPresent()) {
+                return withItems(firstPage.get());
+            }
+        }
+        Keyset keyset = Keyset.of(cursor, page, size);
+        return withItems(repository.findFeed(userId, keyset.getTime(), keyset.getId(), keyset.getPageable())
+                .getContent());
     }
 
     @Override
@@ -79,12 +95,21 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         log.info("Поиск всех запросов пользователя (id={})", userId);
         validateUser(userId);
         int page = validatePage(from, size);
-        return repository.findByRequestorOrderByCreatedDesc(userId, PageRequest.of(page, size))
+        return withItems(repository.findByRequestorOrderByCreatedDesc(userId, PageRequest.of(page, size)).getContent());
+    }
+
+    // ответы на все запросы страницы загружаются одним запросом
+    private List<ItemRequestFullDto> withItems(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> requestIds = itemRequests.stream().map(ItemRequest::getId).collect(Collectors.toList());
+        Map<Long, List<ItemShortDto>> items = itemRepository.findByRequestIdIn(requestIds)
                 .stream()
+                .collect(Collectors.groupingBy(ItemShortDto::getRequestId));
+        return itemRequests.stream()
                 .map(itemRequest -> ItemRequestMapper.toItemRequestFullDto(itemRequest,
-                        itemRepository.findByRequestId(itemRequest.getId())
-                                .stream()
-                                .collect(Collectors.toList())))
+                        items.get(itemRequest.getId())))
                 .collect(Collectors.toList());
     }
 
@@ -95,11 +120,16 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         Optional<ItemRequest> itemRequest = repository.findById(id);
         if (itemRequest.isPresent()) {
             return Optional.of(ItemRequestMapper.toItemRequestFullDto(itemRequest.get(),
-                    itemRepository.findByRequestId(id)
-                            .stream()
-                            .collect(Collectors.toList())));
+                    itemRepository.findByRequestId(id)));
         } else {
             return Optional.empty();
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public Optional<ResourceVersion> getItemRequestVersion(long id, long userId) {
+        validateUser(userId);
+        return repository.findVersionById(id)
+                .map(version -> ResourceVersion.of(null, "request", id, version));
+    }
+}
@@ -1,14 +1,18 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.cache.CacheHeaders;
+import ru.practicum.shareit.cache.ResourceVersion;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
 import javax.validation.Valid;
 import java.util.Collection;
+import java.util.Optional;
 
 
 @RestController
@@ -19,31 +23,41 @@ public class UserController {
     private final UserService userService;
 
     @GetMapping
-    public Collection<UserDto> getAllUsers() {
-        return userService.findAll();
+    public ResponseEntity<Collection<UserDto>> getAllUsers() {
+        return CacheHeaders.cacheable(userService.findAll());
     }
 
     @PostMapping
     public ResponseEntity<UserDto> createUser(@Valid @RequestBody UserDto userDto) {
-        return new ResponseEntity<>(userService.save(userDto), HttpStatus.CREATED);
+        return CacheHeaders.invalidating(HttpStatus.CREATED, userService.save(userDto), CacheHeaders.USERS);
     }
 
     @PatchMapping("/{id}")
     public ResponseEntity<UserDto> updateUser(@PathVariable Long id, @RequestBody UserDto userDto) {
         userDto.setId(id);
-        return userService.update(userDto).map(updatedUser -> new ResponseEntity<>(updatedUser, HttpStatus.OK))
+        return userService.update(userDto)
+                .map(updatedUser -> CacheHeaders.invalidating(HttpStatus.OK, updatedUser,
+                        CacheHeaders.USERS, CacheHeaders.ITEMS))
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<UserDto> findUserById(@PathVariable Long id) {
-        return userService.getUserDto(id).map(user -> new ResponseEntity<>(user, HttpStatus.OK))
+    public ResponseEntity<UserDto> findUserById(@PathVariable Long id,
+                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH,
+                                                        required = false) String ifNoneMatch) {
+        Optional<ResourceVersion> version = userService.getUserVersion(id);
+        if (version.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } else if (CacheHeaders.isNotModified(ifNoneMatch, version.get())) {
+            return CacheHeaders.notModified(version.get());
+        }
+        return userService.getUserDto(id).map(user -> CacheHeaders.cacheable(user, version.get()))
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<UserDto> deleteUserById(@PathVariable Long id) {
-        return userService.delete(id) ? new ResponseEntity<>(HttpStatus.OK)
+        return userService.delete(id) ? CacheHeaders.invalidating(HttpStatus.OK, null, CacheHeaders.USERS)
                 : new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
 }
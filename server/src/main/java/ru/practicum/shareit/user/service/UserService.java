@@ -1,7 +1,7 @@
 package ru.practicum.shareit.user.service;
 
+import ru.practicum.shareit.cache.ResourceVersion;
 import ru.practicum.shareit.user.dto.UserDto;
-import ru.practicum.shareit.user.model.User;
 
 import java.util.Collection;
 import java.util.Optional;
@@ -16,7 +16,11 @@ public interface UserService {
 
     boolean delete(long userId);
 
-    Optional<User> getUser(long userId);
+    // из кэша users: для проверки пользователя и данных, встраиваемых в другие ответы
+    Optional<UserDto> getUser(long userId);
 
+    // всегда из БД: тело GET /users/{id} должно соответствовать ETag, прочитанному из БД
     Optional<UserDto> getUserDto(long userId);
+
+    Optional<ResourceVersion> getUserVersion(long userId);
 }
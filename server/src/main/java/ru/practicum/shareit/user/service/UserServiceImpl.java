@@ -1,10 +1,14 @@
 package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.cache.ResourceVersion;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
@@ -18,6 +22,7 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository repository;
+    private final ItemRepository itemRepository;
     private final UserMapper userMapper;
 
     @Override
@@ -43,12 +48,14 @@ public class UserServiceImpl implements UserService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = "users", key = "#userDto.id")
     @Override
     public Optional<UserDto> update(UserDto userDto) {
         User user = repository.findById(userDto.getId())
                 .orElseThrow(() -> new NotFoundException(String.format("User ID %s is already exist.", userDto)));
         if (userDto.getName() != null && !userDto.getName().isBlank()) {
             user.setName(userDto.getName());
+            itemRepository.incrementCommentedItemsETagGeneration(user.getId());
         }
         if (userDto.getEmail() != null && !userDto.getEmail().isBlank()) {
             user.setEmail(userDto.getEmail());
@@ -58,10 +65,11 @@ public class UserServiceImpl implements UserService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = "users", key = "#userId")
     @Override
     public boolean delete(long userId) {
         validate(repository.findById(userId).get());
-        Optional<User> user = getUser(userId);
+        Optional<User> user = repository.findById(userId);
         if (user.isPresent()) {
             repository.deleteById(userId);
             return true;
@@ -70,16 +78,20 @@ public class UserServiceImpl implements UserService {
         }
     }
 
-    @Transactional
+    @Cacheable(cacheNames = "users", unless = "#result == null")
     @Override
-    public Optional<User> getUser(long userId) {
-        return repository.findById(userId);
+    public Optional<UserDto> getUser(long userId) {
+        return getUserDto(userId);
     }
 
-    @Transactional
     @Override
     public Optional<UserDto> getUserDto(long userId) {
-        Optional<User> user = repository.findById(userId);
-        return user.map(userMapper::toUserDto);
+        return repository.findById(userId).map(userMapper::toUserDto);
+    }
+
+    @Override
+    public Optional<ResourceVersion> getUserVersion(long userId) {
+        return repository.findVersionById(userId)
+                .map(version -> ResourceVersion.of(null, "user", userId, version));
     }
 }
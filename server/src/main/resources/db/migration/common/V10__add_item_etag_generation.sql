@@ -0,0 +1,3 @@
+-- счётчик изменений брони и отзывов для ETag вещи, отдельно от version: version проверяется
+-- оптимистической блокировкой при updateItem, и сторонний инкремент ронял бы обновление
+ALTER TABLE items ADD COLUMN etag_generation BIGINT DEFAULT 0 NOT NULL;
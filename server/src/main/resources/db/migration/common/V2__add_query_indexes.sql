@@ -0,0 +1,13 @@
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id);
+
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_dates ON bookings (item_id, status, start_date, end_date);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id, created);
+
+CREATE INDEX IF NOT EXISTS idx_requests_requestor ON requests (requestor_id, created);
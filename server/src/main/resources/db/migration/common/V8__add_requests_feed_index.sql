@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (created DESC, id DESC);
@@ -0,0 +1,23 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- уже пересекающиеся подтверждённые брони не дадут создать ограничение; какую из них отклонить,
+-- миграция не решает: она останавливается со списком пар, их нужно разобрать вручную и перезапустить
+DO $$
+DECLARE
+    conflicts TEXT;
+BEGIN
+    SELECT string_agg(format('item %s: bookings %s and %s', a.item_id, a.id, b.id), '; ' ORDER BY a.item_id, a.id, b.id)
+    INTO conflicts
+    FROM bookings a
+    JOIN bookings b ON b.item_id = a.item_id AND b.id > a.id
+    WHERE a.status = 'APPROVED' AND b.status = 'APPROVED'
+      AND tsrange(a.start_date, a.end_date) && tsrange(b.start_date, b.end_date);
+    IF conflicts IS NOT NULL THEN
+        RAISE EXCEPTION 'Cannot add bookings_approved_no_overlap: overlapping APPROVED bookings exist (%). '
+            'Reject or reschedule one booking of each pair and rerun the migration.', conflicts;
+    END IF;
+END $$;
+
+ALTER TABLE bookings ADD CONSTRAINT bookings_approved_no_overlap
+    EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+    WHERE (status = 'APPROVED');
@@ -7,10 +7,12 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.cache.CacheHeaders;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -24,6 +26,7 @@ import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -91,6 +94,28 @@ class BookingControllerTest {
                 .andExpect(jsonPath(ITEM_NAME, is(bookingFullDto.getItem().getName())));
     }
 
+    @Test
+    void createBookings() throws Exception {
+        when(service.saveBookings(anyList(), anyLong()))
+                .thenReturn(List.of(
+                        new BookingBatchResultDto(201, bookingFullDto, null),
+                        new BookingBatchResultDto(404, null, "Вещь (id = 5) не найдена")));
+
+        mvc.perform(post("/bookings/batch")
+                        .content(mapper.writeValueAsString(List.of(bookingDto, new BookingDto(5L, start, end))))
+                        .header(X_SHARER_USER_ID, VALUE_HEADER_ONE)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status", is(201)))
+                .andExpect(jsonPath("$[0].booking.id", is(bookingFullDto.getId()), Long.class))
+                .andExpect(jsonPath("$[1].status", is(404)))
+                .andExpect(jsonPath("$[1].error", is("Вещь (id = 5) не найдена")))
+                .andExpect(header().stringValues(CacheHeaders.INVALIDATE_HEADER, "/items/2"));
+    }
+
     @Test
     void updateBookingOk() throws Exception {
         when(service.updateBooking(anyLong(), anyLong(), anyBoolean()))
@@ -163,7 +188,7 @@ class BookingControllerTest {
 
     @Test
     void findUserBookings() throws Exception {
-        when(service.findUserBookings(anyLong(), anyString(), anyInt(), anyInt()))
+        when(service.findUserBookings(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenReturn(List.of(bookingFullDto));
 
         mvc.perform(get("/bookings")
@@ -185,7 +210,7 @@ class BookingControllerTest {
 
     @Test
     void findOwnerBookings() throws Exception {
-        when(service.findOwnerBookings(anyLong(), anyString(), anyInt(), anyInt()))
+        when(service.findOwnerBookings(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenReturn(List.of(bookingFullDto));
 
         mvc.perform(get("/bookings/owner")
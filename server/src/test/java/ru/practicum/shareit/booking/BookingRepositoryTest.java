@@ -5,8 +5,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -14,6 +15,9 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -21,6 +25,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 @DataJpaTest
 class BookingRepositoryTest {
 
+    private static final LocalDateTime FIRST_PAGE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     @Autowired
     private TestEntityManager em;
 
@@ -80,32 +86,162 @@ class BookingRepositoryTest {
 
     @Test
     void findAllByOwnerId() {
-        Page<Booking> foundBookings = repository
-                .findAllByOwnerId(ownerId, "ALL", LocalDateTime.now(), PageRequest.of(0, 20));
-        assertThat(foundBookings).hasSize(2);
+        Slice<Booking> foundBookings = repository.findAllByOwnerId(ownerId,
+                FIRST_PAGE, Long.MAX_VALUE, PageRequest.of(0, 20));
+        assertThat(foundBookings).extracting(Booking::getId)
+                .containsExactly(nextBooking.getId(), lastBooking.getId());
+    }
+
+    @Test
+    void findPastByOwnerId() {
+        Slice<Booking> foundBookings = repository.findPastByOwnerId(ownerId, LocalDateTime.now(),
+                FIRST_PAGE, Long.MAX_VALUE, PageRequest.of(0, 20));
+        assertThat(foundBookings).extracting(Booking::getId).containsExactly(lastBooking.getId());
+    }
+
+    @Test
+    void findFutureByOwnerId() {
+        Slice<Booking> foundBookings = repository.findFutureByOwnerId(ownerId, LocalDateTime.now(),
+                FIRST_PAGE, Long.MAX_VALUE, PageRequest.of(0, 20));
+        assertThat(foundBookings).extracting(Booking::getId).containsExactly(nextBooking.getId());
+    }
+
+    @Test
+    void findCurrentByOwnerIdIsEmpty() {
+        Slice<Booking> foundBookings = repository.findCurrentByOwnerId(ownerId, LocalDateTime.now(),
+                FIRST_PAGE, Long.MAX_VALUE, PageRequest.of(0, 20));
+        assertThat(foundBookings).isEmpty();
+    }
+
+    @Test
+    void findAllByOwnerIdAndStatus() {
+        Slice<Booking> foundBookings = repository.findAllByOwnerIdAndStatus(ownerId, BookingStatus.WAITING,
+                FIRST_PAGE, Long.MAX_VALUE, PageRequest.of(0, 20));
+        assertThat(foundBookings).extracting(Booking::getId).containsExactly(nextBooking.getId());
+    }
+
+    @Test
+    void findAllByOwnerIdOfOtherUserIsEmpty() {
+        Slice<Booking> foundBookings = repository.findAllByOwnerId(bookerId,
+                FIRST_PAGE, Long.MAX_VALUE, PageRequest.of(0, 20));
+        assertThat(foundBookings).isEmpty();
+    }
+
+    @Test
+    void findAllByBookerIdAfterCursor() {
+        Slice<Booking> firstPage = repository.findAllByBookerId(bookerId, FIRST_PAGE, Long.MAX_VALUE,
+                PageRequest.of(0, 1));
+        assertThat(firstPage).extracting(Booking::getId).containsExactly(nextBooking.getId());
+        assertThat(firstPage.hasNext()).isTrue();
+
+        Slice<Booking> secondPage = repository.findAllByBookerId(bookerId,
+                nextBooking.getStart().truncatedTo(ChronoUnit.MICROS),
+                nextBooking.getId(), PageRequest.of(0, 1));
+        assertThat(secondPage).extracting(Booking::getId).containsExactly(lastBooking.getId());
+        assertThat(secondPage.hasNext()).isFalse();
+    }
+
+    @Test
+    void existsApprovedOverlappingBooking() {
+        LocalDateTime start = lastBooking.getStart().plusDays(1);
+        LocalDateTime end = lastBooking.getEnd().plusDays(1);
+        assertThat(repository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(
+                itemId, BookingStatus.APPROVED, end, start)).isTrue();
+    }
+
+    @Test
+    void existsApprovedOverlappingBookingIsFalse() {
+        LocalDateTime start = nextBooking.getStart();
+        LocalDateTime end = nextBooking.getEnd();
+        assertThat(repository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(
+                itemId, BookingStatus.APPROVED, end, start)).isFalse();
     }
 
     @Test
     void findLastBookingIsPresent() {
-        Optional<Booking> foundBookings = repository.findLastBooking(itemId, ownerId, LocalDateTime.now());
+        Optional<BookingShortDto> foundBookings = repository.findLastBooking(itemId, ownerId, LocalDateTime.now());
         assertThat(foundBookings.isPresent());
     }
 
     @Test
     void findLastBookingIsEmpty() {
-        Optional<Booking> foundBookings = repository.findLastBooking(itemId, ownerId, LocalDateTime.now().minusDays(11));
+        Optional<BookingShortDto> foundBookings = repository.findLastBooking(itemId, ownerId, LocalDateTime.now().minusDays(11));
         assertThat(foundBookings.isEmpty());
     }
 
     @Test
     void findNextBookingIsPresent() {
-        Optional<Booking> foundBookings = repository.findNextBooking(itemId, ownerId, LocalDateTime.now());
+        Optional<BookingShortDto> foundBookings = repository.findNextBooking(itemId, ownerId, LocalDateTime.now());
         assertThat(foundBookings.isPresent());
     }
 
     @Test
     void findNextBookingIsEmpty() {
-        Optional<Booking> foundBookings = repository.findNextBooking(itemId, ownerId, LocalDateTime.now().plusDays(11));
+        Optional<BookingShortDto> foundBookings = repository.findNextBooking(itemId, ownerId, LocalDateTime.now().plusDays(11));
         assertThat(foundBookings.isEmpty());
     }
+
+    @Test
+    void findLastAndNextBookingAreClosestToNow() {
+        Booking olderBooking = new Booking();
+        olderBooking.setItemId(itemId);
+        olderBooking.setBookerId(bookerId);
+        olderBooking.setStart(lastBooking.getStart().minusDays(10));
+        olderBooking.setEnd(lastBooking.getStart().minusDays(5));
+        olderBooking.setStatus(BookingStatus.APPROVED);
+        em.persist(olderBooking);
+
+        Booking laterBooking = new Booking();
+        laterBooking.setItemId(itemId);
+        laterBooking.setBookerId(bookerId);
+        laterBooking.setStart(nextBooking.getEnd().plusDays(1));
+        laterBooking.setEnd(nextBooking.getEnd().plusDays(5));
+        laterBooking.setStatus(BookingStatus.WAITING);
+        em.persist(laterBooking);
+
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(repository.findLastBooking(itemId, ownerId, now)).map(BookingShortDto::getId)
+                .contains(lastBooking.getId());
+        assertThat(repository.findNextBooking(itemId, ownerId, now)).map(BookingShortDto::getId)
+                .contains(nextBooking.getId());
+    }
+
+    @Test
+    void findLastBookings() {
+        Collection<BookingShortDto> foundBookings = repository.findLastBookings(List.of(itemId), ownerId, LocalDateTime.now());
+        assertThat(foundBookings).extracting(BookingShortDto::getId).containsExactly(lastBooking.getId());
+    }
+
+    @Test
+    void findLastBookingsIsEmpty() {
+        Collection<BookingShortDto> foundBookings = repository.findLastBookings(
+                List.of(itemId), ownerId, LocalDateTime.now().minusDays(11));
+        assertThat(foundBookings).isEmpty();
+    }
+
+    @Test
+    void findNextBookings() {
+        Collection<BookingShortDto> foundBookings = repository.findNextBookings(List.of(itemId), ownerId, LocalDateTime.now());
+        assertThat(foundBookings).extracting(BookingShortDto::getId).containsExactly(nextBooking.getId());
+    }
+
+    @Test
+    void findNextBookingsIsEmpty() {
+        Collection<BookingShortDto> foundBookings = repository.findNextBookings(
+                List.of(itemId), ownerId, LocalDateTime.now().plusDays(11));
+        assertThat(foundBookings).isEmpty();
+    }
+
+    @Test
+    void updateStatusOnlyFromExpected() {
+        em.flush();
+        assertThat(repository.updateStatus(nextBooking.getId(), BookingStatus.WAITING, BookingStatus.APPROVED))
+                .isEqualTo(1);
+        assertThat(repository.updateStatus(nextBooking.getId(), BookingStatus.WAITING, BookingStatus.REJECTED))
+                .isEqualTo(0);
+
+        Booking updatedBooking = repository.findById(nextBooking.getId()).get();
+        assertThat(updatedBooking.getStatus()).isEqualTo(BookingStatus.APPROVED);
+        assertThat(updatedBooking.getVersion()).isEqualTo(1L);
+    }
 }
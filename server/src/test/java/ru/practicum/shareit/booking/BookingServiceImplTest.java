@@ -6,7 +6,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageImpl;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
 import ru.practicum.shareit.booking.model.Booking;
@@ -18,15 +20,22 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.Keyset;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.service.UserServiceImpl;
 
 import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.allOf;
 import static org.hamcrest.CoreMatchers.notNullValue;
@@ -81,14 +90,14 @@ class BookingServiceImplTest {
         givenUserBookings();
 
         // when
-        Collection<BookingFullDto> targetBookings = service.findUserBookings(user.getId(), "ALL", 0, 20);
+        Collection<BookingFullDto> targetBookings = service.findUserBookings(user.getId(), "ALL", 0, 20, null);
 
         // then
         assertThat(targetBookings, hasSize(sourceBookings.size()));
         for (Booking sourceBooking : sourceBookings) {
             assertThat(targetBookings, hasItem(allOf(
                     hasProperty("id", notNullValue()),
-                    hasProperty("booker", equalTo(user)),
+                    hasProperty("booker", hasProperty("id", equalTo(user.getId()))),
                     hasProperty("item", equalTo(item))
             )));
         }
@@ -97,31 +106,79 @@ class BookingServiceImplTest {
     @Test
     void findUserBookingsStateCURRENT() {
         givenUserBookings();
-        assertThat(service.findUserBookings(user.getId(), "CURRENT", 0, 20), hasSize(0));
+        assertThat(service.findUserBookings(user.getId(), "CURRENT", 0, 20, null), hasSize(0));
     }
 
     @Test
     void findUserBookingsStatePAST() {
         givenUserBookings();
-        assertThat(service.findUserBookings(user.getId(), "PAST", 0, 20), hasSize(2));
+        assertThat(service.findUserBookings(user.getId(), "PAST", 0, 20, null), hasSize(2));
     }
 
     @Test
     void findUserBookingsStateFUTURE() {
         givenUserBookings();
-        assertThat(service.findUserBookings(user.getId(), "FUTURE", 0, 20), hasSize(1));
+        assertThat(service.findUserBookings(user.getId(), "FUTURE", 0, 20, null), hasSize(1));
     }
 
     @Test
     void findUserBookingsStateWAITING() {
         givenUserBookings();
-        assertThat(service.findUserBookings(user.getId(), "WAITING", 0, 20), hasSize(1));
+        assertThat(service.findUserBookings(user.getId(), "WAITING", 0, 20, null), hasSize(1));
     }
 
     @Test
     void findUserBookingsStateREJECTED() {
         givenUserBookings();
-        assertThat(service.findUserBookings(user.getId(), "REJECTED", 0, 20), hasSize(0));
+        assertThat(service.findUserBookings(user.getId(), "REJECTED", 0, 20, null), hasSize(0));
+    }
+
+    @Test
+    void findUserBookingsByCursor() {
+        // given
+        givenUserBookings();
+        List<BookingFullDto> firstPage = List.copyOf(service.findUserBookings(user.getId(), "ALL", 0, 2, null));
+        BookingFullDto lastOnPage = firstPage.get(firstPage.size() - 1);
+
+        // when
+        Collection<BookingFullDto> nextPage = service.findUserBookings(user.getId(), "ALL", 0, 2,
+                Keyset.encode(lastOnPage.getStart(), lastOnPage.getId()));
+
+        // then
+        assertThat(firstPage, contains(
+                hasProperty("id", equalTo(sourceBookings.get(2).getId())),
+                hasProperty("id", equalTo(sourceBookings.get(1).getId()))));
+        assertThat(nextPage, contains(hasProperty("id", equalTo(sourceBookings.get(0).getId()))));
+    }
+
+    @Test
+    void findOwnerBookingsByCursor() {
+        // given
+        givenUserBookings();
+        List<BookingFullDto> firstPage = List.copyOf(service.findOwnerBookings(owner.getId(), "ALL", 0, 1, null));
+        BookingFullDto lastOnPage = firstPage.get(0);
+
+        // when
+        Collection<BookingFullDto> nextPage = service.findOwnerBookings(owner.getId(), "ALL", 100, 5,
+                Keyset.encode(lastOnPage.getStart(), lastOnPage.getId()));
+
+        // then
+        assertThat(lastOnPage.getId(), equalTo(sourceBookings.get(2).getId()));
+        assertThat(nextPage, contains(
+                hasProperty("id", equalTo(sourceBookings.get(1).getId())),
+                hasProperty("id", equalTo(sourceBookings.get(0).getId()))));
+    }
+
+    @Test
+    void findUserBookingsCursorIsNotCorrect() {
+        givenUserBookings();
+
+        ValidationException validationException = Assertions.assertThrows(
+                ValidationException.class,
+                () -> service.findUserBookings(user.getId(), "ALL", 0, 20, Cursor.encode("вчера", 1L)));
+
+        Assertions.assertEquals(String.format("Параметр cursor (%s) задан некорректно", Cursor.encode("вчера", 1L)),
+                validationException.getMessage());
     }
 
     private void givenBookings(int startPlus, int endPlus, boolean available, long ownerId, long bookerId) {
@@ -160,7 +217,8 @@ class BookingServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         BookingServiceImpl bookingService =
-                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository);
+                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         BookingDto bookingDto = new BookingDto(1L, now.minusDays(10), now.minusDays(5));
 
@@ -182,7 +240,8 @@ class BookingServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         BookingServiceImpl bookingService =
-                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository);
+                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         BookingDto bookingDto = new BookingDto(1L, now.plusDays(5), now.minusDays(5));
 
@@ -203,7 +262,8 @@ class BookingServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         BookingServiceImpl bookingService =
-                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository);
+                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         BookingDto bookingDto = new BookingDto(1L, now.plusDays(5), now.plusDays(1));
 
@@ -225,7 +285,8 @@ class BookingServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         BookingServiceImpl bookingService =
-                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository);
+                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenBookings();
 
@@ -251,7 +312,8 @@ class BookingServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         BookingServiceImpl bookingService =
-                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository);
+                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenBookings();
 
@@ -281,7 +343,8 @@ class BookingServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         BookingServiceImpl bookingService =
-                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository);
+                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenBookings(false);
 
@@ -311,7 +374,8 @@ class BookingServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         BookingServiceImpl bookingService =
-                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository);
+                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenBookings();
 
@@ -341,7 +405,8 @@ class BookingServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         BookingServiceImpl bookingService =
-                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository);
+                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenBookings(2L);
 
@@ -356,9 +421,9 @@ class BookingServiceImplTest {
                 .thenReturn(Optional.of(item));
 
         Mockito
-                .when(mockBookingRepository.findByItemIdAndStatusAndStartBeforeAndEndAfter(
+                .when(mockBookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(
                         Mockito.anyLong(), Mockito.any(), Mockito.any(), Mockito.any()))
-                .thenReturn(List.of(booking));
+                .thenReturn(true);
 
         // when
         ValidationException validationException = Assertions.assertThrows(
@@ -376,7 +441,8 @@ class BookingServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         BookingServiceImpl bookingService =
-                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository);
+                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenBookings(2L);
 
@@ -391,14 +457,14 @@ class BookingServiceImplTest {
                 .thenReturn(Optional.of(item));
 
         Mockito
-                .when(mockBookingRepository.findByItemIdAndStatusAndStartBeforeAndEndAfter(
+                .when(mockBookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(
                         Mockito.anyLong(), Mockito.any(), Mockito.any(), Mockito.any()))
-                .thenReturn(List.of(booking));
+                .thenReturn(true);
 
         Mockito
-                .when(mockBookingRepository.findByItemIdAndStatusAndStartBeforeAndEndAfter(
+                .when(mockBookingRepository.existsByItemIdAndStatusAndStartBeforeAndEndAfter(
                         Mockito.anyLong(), Mockito.any(), Mockito.any(), Mockito.any()))
-                .thenReturn(List.of());
+                .thenReturn(false);
 
         Mockito
                 .when(mockBookingRepository.save(Mockito.any()))
@@ -411,6 +477,56 @@ class BookingServiceImplTest {
         Assertions.assertEquals(booking.getItemId(), bookingFullDto.getItem().getId());
     }
 
+    @Test
+    void saveBookingsReportsEachEntry() {
+        // given
+        BookingRepository mockBookingRepository = Mockito.mock(BookingRepository.class);
+        ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
+        UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
+        BookingServiceImpl bookingService =
+                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
+
+        givenBookings(2L);
+
+        List<BookingDto> bookingDtos = List.of(
+                new BookingDto(item.getId(), now.plusDays(20), now.plusDays(25)),
+                new BookingDto(item.getId(), now.plusDays(6), now.plusDays(8)),
+                new BookingDto(99L, now.plusDays(20), now.plusDays(25)),
+                new BookingDto(item.getId(), now.minusDays(1), now.plusDays(1)));
+
+        Mockito
+                .when(mockUserRepository.findById(1L))
+                .thenReturn(Optional.of(user));
+
+        Mockito
+                .when(mockItemRepository.findAllById(Set.of(item.getId(), 99L)))
+                .thenReturn(List.of(item));
+
+        Mockito
+                .when(mockBookingRepository.findAllByItemIdInAndStatusAndStartBeforeAndEndAfter(
+                        Mockito.any(), Mockito.eq(BookingStatus.APPROVED), Mockito.any(), Mockito.any()))
+                .thenReturn(List.of(booking));
+
+        Mockito
+                .when(mockBookingRepository.saveAll(Mockito.anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        List<BookingBatchResultDto> results = bookingService.saveBookings(bookingDtos, 1L);
+
+        // then
+        Assertions.assertEquals(List.of(201, 400, 404, 400),
+                results.stream().map(BookingBatchResultDto::getStatus).collect(Collectors.toList()));
+        Assertions.assertEquals(BookingStatus.WAITING, results.get(0).getBooking().getStatus());
+        Assertions.assertEquals(String.format("Вещь (id = %s) уже забронирована на эти даты", item.getId()),
+                results.get(1).getError());
+        Assertions.assertEquals("Вещь (id = 99) не найдена", results.get(2).getError());
+        Mockito.verify(mockItemRepository, Mockito.never()).findById(Mockito.anyLong());
+        Mockito.verify(mockBookingRepository, Mockito.never()).existsByItemIdAndStatusAndStartBeforeAndEndAfter(
+                Mockito.anyLong(), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
     @Test
     void updateBookingIsNotFound() {
         // given
@@ -418,7 +534,8 @@ class BookingServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         BookingServiceImpl bookingService =
-                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository);
+                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenBookings(1L, 2L);
 
@@ -450,7 +567,8 @@ class BookingServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         BookingServiceImpl bookingService =
-                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository);
+                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenBookings(1L, 2L);
 
@@ -484,11 +602,11 @@ class BookingServiceImplTest {
         booking.setStatus(BookingStatus.WAITING);
 
         Mockito
-                .when(mockBookingRepository.save(Mockito.any()))
-                .thenReturn(booking);
+                .when(mockBookingRepository.updateStatus(1L, BookingStatus.WAITING, BookingStatus.APPROVED))
+                .thenReturn(1);
 
         BookingFullDto bookingFullDto = bookingService.updateBooking(1L, 1L, true).get();
-        Assertions.assertEquals(booking.getStatus(), bookingFullDto.getStatus());
+        Assertions.assertEquals(BookingStatus.APPROVED, bookingFullDto.getStatus());
     }
 
     @Test
@@ -498,7 +616,8 @@ class BookingServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         BookingServiceImpl bookingService =
-                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository);
+                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenBookings(1L, 2L);
 
@@ -531,7 +650,8 @@ class BookingServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         BookingServiceImpl bookingService =
-                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository);
+                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenBookings(1L, 2L);
         booking.setStatus(BookingStatus.WAITING);
@@ -549,14 +669,105 @@ class BookingServiceImplTest {
                 .thenReturn(Optional.of(booking));
 
         Mockito
-                .when(mockBookingRepository.save(Mockito.any()))
-                .thenReturn(booking);
+                .when(mockBookingRepository.updateStatus(1L, BookingStatus.WAITING, BookingStatus.APPROVED))
+                .thenReturn(1);
 
         // when
         BookingFullDto bookingFullDto = bookingService.updateBooking(1L, 1L, true).get();
 
         // then
-        Assertions.assertEquals(booking.getStatus(), bookingFullDto.getStatus());
+        Assertions.assertEquals(BookingStatus.APPROVED, bookingFullDto.getStatus());
+        Mockito.verify(mockBookingRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    void updateBookingStatusChangedConcurrently() {
+        // given
+        BookingRepository mockBookingRepository = Mockito.mock(BookingRepository.class);
+        ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
+        UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
+        BookingServiceImpl bookingService =
+                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
+
+        givenBookings(1L, 2L);
+        booking.setStatus(BookingStatus.WAITING);
+
+        Mockito
+                .when(mockUserRepository.findById(Mockito.anyLong()))
+                .thenReturn(Optional.of(user));
+
+        Mockito
+                .when(mockItemRepository.findById(Mockito.anyLong()))
+                .thenReturn(Optional.of(item));
+
+        Mockito
+                .when(mockBookingRepository.findById(1L))
+                .thenReturn(Optional.of(booking));
+
+        Mockito
+                .when(mockBookingRepository.updateStatus(1L, BookingStatus.WAITING, BookingStatus.APPROVED))
+                .thenReturn(0);
+
+        Mockito
+                .when(mockBookingRepository.updateStatus(1L, BookingStatus.WAITING, BookingStatus.REJECTED))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new SQLException("conflicting key value violates exclusion constraint "
+                                + "\"bookings_approved_no_overlap\"", "23P01")));
+
+        // when
+        ValidationException statusException = Assertions.assertThrows(
+                ValidationException.class,
+                () -> bookingService.updateBooking(1L, 1L, true));
+        ValidationException overlapException = Assertions.assertThrows(
+                ValidationException.class,
+                () -> bookingService.updateBooking(1L, 1L, false));
+
+        // then
+        Assertions.assertEquals(String.format("Статус брони отличен от %s", BookingStatus.WAITING),
+                statusException.getMessage());
+        Assertions.assertEquals("Вещь (id = 1) уже забронирована на эти даты", overlapException.getMessage());
+    }
+
+    @Test
+    void updateBookingRethrowsOtherIntegrityViolations() {
+        // given
+        BookingRepository mockBookingRepository = Mockito.mock(BookingRepository.class);
+        ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
+        UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
+        BookingServiceImpl bookingService =
+                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
+
+        givenBookings(1L, 2L);
+        booking.setStatus(BookingStatus.WAITING);
+
+        Mockito
+                .when(mockUserRepository.findById(Mockito.anyLong()))
+                .thenReturn(Optional.of(user));
+
+        Mockito
+                .when(mockItemRepository.findById(Mockito.anyLong()))
+                .thenReturn(Optional.of(item));
+
+        Mockito
+                .when(mockBookingRepository.findById(1L))
+                .thenReturn(Optional.of(booking));
+
+        DataIntegrityViolationException notNullViolation = new DataIntegrityViolationException(
+                "could not execute statement",
+                new SQLException("null value in column \"status\" violates not-null constraint", "23502"));
+        Mockito
+                .when(mockBookingRepository.updateStatus(1L, BookingStatus.WAITING, BookingStatus.APPROVED))
+                .thenThrow(notNullViolation);
+
+        // when
+        DataIntegrityViolationException exception = Assertions.assertThrows(
+                DataIntegrityViolationException.class,
+                () -> bookingService.updateBooking(1L, 1L, true));
+
+        // then
+        Assertions.assertSame(notNullViolation, exception);
     }
 
     @Test
@@ -566,7 +777,8 @@ class BookingServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         BookingServiceImpl bookingService =
-                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository);
+                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenBookings(1L, 2L);
 
@@ -585,7 +797,7 @@ class BookingServiceImplTest {
         // when
         ValidationException validationException = Assertions.assertThrows(
                 ValidationException.class,
-                () -> bookingService.findOwnerBookings(1L, "LAST", 0, 20));
+                () -> bookingService.findOwnerBookings(1L, "LAST", 0, 20, null));
 
         // then
         Assertions.assertEquals("Unknown state: LAST", validationException.getMessage());
@@ -598,7 +810,8 @@ class BookingServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         BookingServiceImpl bookingService =
-                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository);
+                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenBookings(1L, 2L);
 
@@ -617,7 +830,7 @@ class BookingServiceImplTest {
         // when
         ValidationException validationException = Assertions.assertThrows(
                 ValidationException.class,
-                () -> bookingService.findOwnerBookings(1L, "ALL", -1, 20));
+                () -> bookingService.findOwnerBookings(1L, "ALL", -1, 20, null));
 
         // then
         Assertions.assertEquals("Параметр from (-1) задан некорректно", validationException.getMessage());
@@ -630,7 +843,8 @@ class BookingServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         BookingServiceImpl bookingService =
-                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository);
+                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenBookings(1L, 2L);
 
@@ -649,7 +863,7 @@ class BookingServiceImplTest {
         // when
         ValidationException validationException = Assertions.assertThrows(
                 ValidationException.class,
-                () -> bookingService.findOwnerBookings(1L, "ALL", 0, 0));
+                () -> bookingService.findOwnerBookings(1L, "ALL", 0, 0, null));
 
         // then
         Assertions.assertEquals("Параметр size (0) задан некорректно", validationException.getMessage());
@@ -662,7 +876,8 @@ class BookingServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         BookingServiceImpl bookingService =
-                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository);
+                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenBookings(1L, 2L);
         List<Booking> sourceBookings = List.of(
@@ -675,13 +890,20 @@ class BookingServiceImplTest {
             sourceBooking.setId(id++);
         }
 
+        User booker = makeUser("booker@mail.ru", "Booker");
+        booker.setId(2L);
+
         Mockito
                 .when(mockUserRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.of(user));
 
         Mockito
-                .when(mockItemRepository.findById(Mockito.anyLong()))
-                .thenReturn(Optional.of(item));
+                .when(mockUserRepository.findAllById(Set.of(2L)))
+                .thenReturn(List.of(booker));
+
+        Mockito
+                .when(mockItemRepository.findAllById(Set.of(item.getId())))
+                .thenReturn(List.of(item));
 
         Mockito
                 .when(mockBookingRepository.findById(1L))
@@ -689,21 +911,25 @@ class BookingServiceImplTest {
 
         Mockito
                 .when(mockBookingRepository.findAllByOwnerId(
-                        Mockito.anyLong(), Mockito.anyString(), Mockito.any(), Mockito.any()))
+                        Mockito.anyLong(), Mockito.any(), Mockito.anyLong(), Mockito.any()))
                 .thenReturn(new PageImpl<>(sourceBookings));
 
         // when
         Collection<BookingFullDto> targetBookings =
-                bookingService.findOwnerBookings(1L, "ALL", 0, 20);
+                bookingService.findOwnerBookings(1L, "ALL", 0, 20, null);
 
         // then
         assertThat(targetBookings, hasSize(sourceBookings.size()));
         for (Booking sourceBooking : sourceBookings) {
             assertThat(targetBookings, hasItem(allOf(
                     hasProperty("id", notNullValue()),
-                    hasProperty("status", equalTo(sourceBooking.getStatus()))
+                    hasProperty("status", equalTo(sourceBooking.getStatus())),
+                    hasProperty("booker", equalTo(booker)),
+                    hasProperty("item", equalTo(item))
             )));
         }
+        Mockito.verify(mockItemRepository, Mockito.never()).findById(Mockito.anyLong());
+        Mockito.verify(mockUserRepository, Mockito.times(1)).findById(Mockito.anyLong());
     }
 
     @Test
@@ -713,7 +939,8 @@ class BookingServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         BookingServiceImpl bookingService =
-                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository);
+                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenBookings(1L, 2L);
 
@@ -745,7 +972,8 @@ class BookingServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         BookingServiceImpl bookingService =
-                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository);
+                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenBookings(1L, 2L);
 
@@ -777,7 +1005,8 @@ class BookingServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         BookingServiceImpl bookingService =
-                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository);
+                new BookingServiceImpl(mockBookingRepository, mockItemRepository, mockUserRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenBookings(1L, 2L);
 
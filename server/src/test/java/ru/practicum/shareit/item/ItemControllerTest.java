@@ -6,15 +6,23 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.cache.CacheHeaders;
+import ru.practicum.shareit.cache.ResourceVersion;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemCommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemFullDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.Keyset;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -23,9 +31,14 @@ import java.util.Optional;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.matchesPattern;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -75,7 +88,8 @@ class ItemControllerTest {
         itemFullDto.setDescription(item.getDescription());
         itemFullDto.setAvailable(item.getAvailable());
         itemFullDto.setRequestId(item.getRequestId());
-        itemFullDto.setLastBooking(booking);
+        itemFullDto.setLastBooking(new BookingShortDto(booking.getId(), booking.getItemId(), booking.getBookerId(),
+                booking.getStart(), booking.getEnd()));
         itemFullDto.setComments(List.of(commentDto));
     }
 
@@ -97,11 +111,11 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].available", is(item.getAvailable())))
                 .andExpect(jsonPath("$[0].requestId", is(item.getRequestId()), Long.class))
                 .andExpect(jsonPath("$[0].lastBooking.id", is(itemFullDto.getLastBooking().getId()), Long.class))
-                .andExpect(jsonPath("$[0].lastBooking.itemId", is(itemFullDto.getLastBooking().getItemId()), Long.class))
+                .andExpect(jsonPath("$[0].lastBooking.itemId").doesNotExist())
                 .andExpect(jsonPath("$[0].lastBooking.bookerId", is(itemFullDto.getLastBooking().getBookerId()), Long.class))
                 .andExpect(jsonPath("$[0].lastBooking.start", is(itemFullDto.getLastBooking().getStart().toString())))
                 .andExpect(jsonPath("$[0].lastBooking.end", is(itemFullDto.getLastBooking().getEnd().toString())))
-                .andExpect(jsonPath("$[0].lastBooking.status", is(itemFullDto.getLastBooking().getStatus().toString())))
+                .andExpect(jsonPath("$[0].lastBooking.status").doesNotExist())
                 .andExpect(jsonPath("$[0].comments", hasSize(1)))
                 .andExpect(jsonPath("$[0].comments[0].id", is(commentDto.getId()), Long.class))
                 .andExpect(jsonPath("$[0].comments[0].text", is(commentDto.getText())))
@@ -144,11 +158,29 @@ class ItemControllerTest {
                 .andExpect(jsonPath(NAME, is(item.getName())))
                 .andExpect(jsonPath(DESCRIPTION, is(item.getDescription())))
                 .andExpect(jsonPath(AVAILABLE, is(item.getAvailable())))
-                .andExpect(jsonPath("$.requestId", is(item.getRequestId()), Long.class));
+                .andExpect(jsonPath("$.requestId", is(item.getRequestId()), Long.class))
+                .andExpect(header().stringValues(CacheHeaders.INVALIDATE_HEADER, "/items/1", "/requests"));
+    }
+
+    @Test
+    void updateItemIsConflictOnConcurrentModification() throws Exception {
+        when(service.updateItem(anyLong(), any(), anyLong()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Item.class, 1L));
+
+        mvc.perform(patch("/items/{id}", 1)
+                        .content(mapper.writeValueAsString(itemDto))
+                        .header(X_SHARER_USER_ID, VALUE_HEADER_ONE)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error", is("The resource was modified concurrently, retry the request")));
     }
 
     @Test
     void findItemByIdIsOk() throws Exception {
+        when(service.getItemVersion(anyLong(), anyLong()))
+                .thenReturn(Optional.of(ResourceVersion.of(null, "item", 1, 0)));
         when(service.getItem(anyLong(), anyLong()))
                 .thenReturn(Optional.of(itemFullDto));
 
@@ -164,21 +196,54 @@ class ItemControllerTest {
                 .andExpect(jsonPath(AVAILABLE, is(item.getAvailable())))
                 .andExpect(jsonPath(REQUEST_ID, is(item.getRequestId()), Long.class))
                 .andExpect(jsonPath("$.lastBooking.id", is(itemFullDto.getLastBooking().getId()), Long.class))
-                .andExpect(jsonPath("$.lastBooking.itemId", is(itemFullDto.getLastBooking().getItemId()), Long.class))
+                .andExpect(jsonPath("$.lastBooking.itemId").doesNotExist())
                 .andExpect(jsonPath("$.lastBooking.bookerId", is(itemFullDto.getLastBooking().getBookerId()), Long.class))
                 .andExpect(jsonPath("$.lastBooking.start", is(itemFullDto.getLastBooking().getStart().toString())))
                 .andExpect(jsonPath("$.lastBooking.end", is(itemFullDto.getLastBooking().getEnd().toString())))
-                .andExpect(jsonPath("$.lastBooking.status", is(itemFullDto.getLastBooking().getStatus().toString())))
+                .andExpect(jsonPath("$.lastBooking.status").doesNotExist())
                 .andExpect(jsonPath("$.comments", hasSize(1)))
                 .andExpect(jsonPath("$.comments[0].id", is(commentDto.getId()), Long.class))
                 .andExpect(jsonPath("$.comments[0].text", is(commentDto.getText())))
                 .andExpect(jsonPath("$.comments[0].created", is(commentDto.getCreated().toString())))
-                .andExpect(jsonPath("$.comments[0].authorName", is(commentDto.getAuthorName())));
+                .andExpect(jsonPath("$.comments[0].authorName", is(commentDto.getAuthorName())))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, private"))
+                .andExpect(header().string(HttpHeaders.VARY, X_SHARER_USER_ID))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"item-1-0\""));
     }
 
     @Test
-    void findItemByIdIsNotFound() throws Exception {
+    void findItemByIdIsNotModified() throws Exception {
+        when(service.getItemVersion(anyLong(), anyLong()))
+                .thenReturn(Optional.of(ResourceVersion.of(null, "item", 1, 0)));
+
+        mvc.perform(get("/items/{id}", 1)
+                        .header(X_SHARER_USER_ID, VALUE_HEADER_ONE)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"item-1-0\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"item-1-0\""))
+                .andExpect(content().bytes(new byte[0]));
+        verify(service, never()).getItem(anyLong(), anyLong());
+    }
+
+    @Test
+    void findItemByIdIsCachedUntilNextBookingStarts() throws Exception {
+        LocalDateTime nextStart = LocalDateTime.now().plusSeconds(10);
+        when(service.getItemVersion(anyLong(), anyLong()))
+                .thenReturn(Optional.of(ResourceVersion.of(nextStart, "item", 1, 0, nextStart)));
         when(service.getItem(anyLong(), anyLong()))
+                .thenReturn(Optional.of(itemFullDto));
+
+        mvc.perform(get("/items/{id}", 1)
+                        .header(X_SHARER_USER_ID, VALUE_HEADER_ONE)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, matchesPattern("max-age=([0-9]|10), private")));
+    }
+
+    @Test
+    void findItemByIdIsNotFound() throws Exception {
+        when(service.getItemVersion(anyLong(), anyLong()))
                 .thenReturn(Optional.empty());
 
         mvc.perform(get("/items/{id}", 1)
@@ -218,7 +283,7 @@ class ItemControllerTest {
 
     @Test
     void searchItems() throws Exception {
-        when(service.searchItems(anyString()))
+        when(service.searchItems(anyString(), anyInt(), anyInt(), any()))
                 .thenReturn(List.of(ItemMapper.toItemDto(item)));
 
         mvc.perform(get("/items/search")
@@ -233,7 +298,43 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].name", is(item.getName())))
                 .andExpect(jsonPath("$[0].description", is(item.getDescription())))
                 .andExpect(jsonPath("$[0].available", is(item.getAvailable())))
-                .andExpect(jsonPath("$[0].requestId", is(item.getRequestId()), Long.class));
+                .andExpect(jsonPath("$[0].requestId", is(item.getRequestId()), Long.class))
+                .andExpect(header().doesNotExist(Cursor.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void searchItemsFullPageHasNextCursor() throws Exception {
+        when(service.searchItems("дрель", 0, 1, null))
+                .thenReturn(List.of(ItemMapper.toItemDto(item)));
+
+        mvc.perform(get("/items/search")
+                        .header(X_SHARER_USER_ID, VALUE_HEADER_ONE)
+                        .param("text", "дрель")
+                        .param("size", "1")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().string(Cursor.NEXT_CURSOR_HEADER, Cursor.encode(item.getId())));
+    }
+
+    @Test
+    void findItemCommentsFullPageHasNextCursor() throws Exception {
+        when(service.findItemComments(1L, 0, 1, null))
+                .thenReturn(List.of(new ItemCommentDto(1L, commentDto.getId(), commentDto.getText(),
+                        commentDto.getAuthorName(), commentDto.getCreated())));
+
+        mvc.perform(get("/items/{id}/comments", 1)
+                        .header(X_SHARER_USER_ID, VALUE_HEADER_ONE)
+                        .param("size", "1")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].authorName", is(commentDto.getAuthorName())))
+                .andExpect(jsonPath("$[0].itemId").doesNotExist())
+                .andExpect(header().string(Cursor.NEXT_CURSOR_HEADER,
+                        Keyset.encode(commentDto.getCreated(), commentDto.getId())));
     }
 
     @Test
@@ -5,11 +5,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.Collection;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -40,7 +42,47 @@ class ItemRepositoryTest {
 
     @Test
     void search() {
-        Collection<Item> foundItems = repository.search("дрель");
+        Collection<Item> foundItems = repository.search("дрель", 0, PageRequest.of(0, 20));
         assertThat(foundItems).hasSize(1);
     }
+
+    @Test
+    void searchAfterCursor() {
+        Item secondItem = new Item();
+        secondItem.setName("Дрель ударная");
+        secondItem.setDescription("Инструмент для сверления бетона");
+        secondItem.setAvailable(true);
+        secondItem.setOwner(user.getId());
+        em.persist(secondItem);
+
+        List<Item> firstPage = repository.search("дрель", 0, PageRequest.of(0, 1));
+        assertThat(firstPage).extracting(Item::getId).containsExactly(item.getId());
+
+        List<Item> secondPage = repository.search("дрель", item.getId(), PageRequest.of(0, 1));
+        assertThat(secondPage).extracting(Item::getId).containsExactly(secondItem.getId());
+    }
+
+    @Test
+    void incrementETagGeneration() {
+        em.flush();
+        assertThat(repository.findVersionById(item.getId())).contains(0L);
+
+        repository.incrementETagGeneration(item.getId());
+        assertThat(repository.findVersionById(item.getId())).contains(1L);
+    }
+
+    @Test
+    void updateAfterConcurrentETagGenerationIncrement() {
+        em.flush();
+        Item loaded = repository.findById(item.getId()).orElseThrow();
+
+        // бронь подтвердили между чтением вещи и её сохранением в updateItem
+        repository.incrementETagGeneration(item.getId());
+        loaded.setName("Дрель ударная");
+        repository.saveAndFlush(loaded);
+
+        em.clear();
+        assertThat(repository.findById(item.getId())).get().extracting(Item::getName).isEqualTo("Дрель ударная");
+        assertThat(repository.findVersionById(item.getId())).contains(2L);
+    }
 }
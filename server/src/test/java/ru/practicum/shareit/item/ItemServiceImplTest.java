@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -20,8 +21,14 @@ import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.Keyset;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+import ru.practicum.shareit.user.service.UserService;
 
 import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
@@ -86,6 +93,126 @@ class ItemServiceImplTest {
         }
     }
 
+    @Test
+    void findUserItemsWithBookingsAndComments() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        User owner = makeUser("jyk@gmail.com", "Eugene");
+        em.persist(owner);
+        User booker = makeUser("booker@mail.ru", "Booker");
+        em.persist(booker);
+
+        Item boat = makeItem(owner.getId(), "лодка", "плавсредство");
+        em.persist(boat);
+        Item tent = makeItem(owner.getId(), "палатка", "укрытие");
+        em.persist(tent);
+
+        em.persist(makeBooking(booker.getId(), boat.getId(), now.minusDays(20), now.minusDays(15),
+                BookingStatus.APPROVED));
+        Booking lastBooking = makeBooking(booker.getId(), boat.getId(), now.minusDays(10), now.minusDays(5),
+                BookingStatus.APPROVED);
+        em.persist(lastBooking);
+        Booking nextBooking = makeBooking(booker.getId(), boat.getId(), now.plusDays(5), now.plusDays(10),
+                BookingStatus.WAITING);
+        em.persist(nextBooking);
+        em.persist(makeBooking(booker.getId(), boat.getId(), now.plusDays(15), now.plusDays(20),
+                BookingStatus.WAITING));
+
+        Comment comment = CommentMapper.toComment(new CommentDto(null, "отличная лодка", null, null),
+                boat.getId(), booker.getId());
+        em.persist(comment);
+        em.flush();
+
+        // when
+        List<ItemFullDto> targetItems = List.copyOf(service.findUserItems(owner.getId()));
+
+        // then
+        assertThat(targetItems, hasSize(2));
+        ItemFullDto targetBoat = targetItems.get(0);
+        assertThat(targetBoat.getLastBooking().getId(), equalTo(lastBooking.getId()));
+        assertThat(targetBoat.getNextBooking().getId(), equalTo(nextBooking.getId()));
+        assertThat(targetBoat.getComments(), contains(allOf(
+                hasProperty("text", equalTo(comment.getText())),
+                hasProperty("authorName", equalTo(booker.getName()))
+        )));
+        ItemFullDto targetTent = targetItems.get(1);
+        assertThat(targetTent.getLastBooking(), is(nullValue()));
+        assertThat(targetTent.getNextBooking(), is(nullValue()));
+        assertThat(targetTent.getComments(), is(empty()));
+    }
+
+    @Test
+    void findUserItemsEmbedsOnlyLastComments() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        User owner = makeUser("jyk@gmail.com", "Eugene");
+        em.persist(owner);
+        User author = makeUser("author@mail.ru", "Author");
+        em.persist(author);
+        Item boat = makeItem(owner.getId(), "лодка", "плавсредство");
+        em.persist(boat);
+        Item tent = makeItem(owner.getId(), "палатка", "укрытие");
+        em.persist(tent);
+        int embeddedComments = 20;
+        for (int i = 1; i <= embeddedComments + 5; i++) {
+            Comment comment = CommentMapper.toComment(new CommentDto(null, "отзыв " + i, null, null),
+                    boat.getId(), author.getId());
+            comment.setCreated(now.minusHours(100 - i));
+            em.persist(comment);
+        }
+        Comment tentComment = CommentMapper.toComment(new CommentDto(null, "отличная палатка", null, null),
+                tent.getId(), author.getId());
+        em.persist(tentComment);
+        em.flush();
+
+        // when
+        List<ItemFullDto> targetItems = List.copyOf(service.findUserItems(owner.getId()));
+
+        // then
+        List<CommentDto> boatComments = List.copyOf(targetItems.get(0).getComments());
+        assertThat(boatComments, hasSize(embeddedComments));
+        assertThat(boatComments.get(0).getText(), equalTo("отзыв " + (embeddedComments + 5)));
+        assertThat(boatComments.get(embeddedComments - 1).getText(), equalTo("отзыв 6"));
+        assertThat(targetItems.get(1).getComments(), contains(hasProperty("text", equalTo(tentComment.getText()))));
+    }
+
+    @Test
+    void findItemCommentsPagedByCursor() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        User owner = makeUser("jyk@gmail.com", "Eugene");
+        em.persist(owner);
+        User author = makeUser("author@mail.ru", "Author");
+        em.persist(author);
+        Item boat = makeItem(owner.getId(), "лодка", "плавсредство");
+        em.persist(boat);
+        for (int i = 1; i <= 3; i++) {
+            Comment comment = CommentMapper.toComment(new CommentDto(null, "отзыв " + i, null, null),
+                    boat.getId(), author.getId());
+            comment.setCreated(now.minusDays(4 - i));
+            em.persist(comment);
+        }
+        em.flush();
+
+        // when
+        List<CommentDto> firstPage = List.copyOf(service.findItemComments(boat.getId(), 0, 2, null));
+        CommentDto last = firstPage.get(firstPage.size() - 1);
+        List<CommentDto> secondPage = List.copyOf(service.findItemComments(boat.getId(), 0, 2,
+                Keyset.encode(last.getCreated(), last.getId())));
+
+        // then
+        assertThat(firstPage, contains(
+                allOf(hasProperty("text", equalTo("отзыв 3")), hasProperty("authorName", equalTo("Author"))),
+                hasProperty("text", equalTo("отзыв 2"))));
+        assertThat(secondPage, contains(hasProperty("text", equalTo("отзыв 1"))));
+        assertThat(service.getItem(boat.getId(), owner.getId()).get().getComments(), hasSize(3));
+    }
+
+    @Test
+    void findItemCommentsItemNotFound() {
+        Assertions.assertThrows(NotFoundException.class, () -> service.findItemComments(99L, 0, 20, null));
+    }
+
     private void givenItems() {
         user = makeUser("jyk@gmail.com", "Eugene");
         user.setId(1L);
@@ -111,7 +238,9 @@ class ItemServiceImplTest {
         BookingRepository mockBookingRepository = Mockito.mock(BookingRepository.class);
         CommentRepository mockCommentRepository = Mockito.mock(CommentRepository.class);
         ItemServiceImpl itemService =
-                new ItemServiceImpl(mockItemRepository, mockUserRepository, mockCommentRepository, mockBookingRepository);
+                new ItemServiceImpl(mockItemRepository, mockCommentRepository, mockBookingRepository,
+                        Mockito.mock(ItemRequestRepository.class),
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenItems();
 
@@ -139,7 +268,9 @@ class ItemServiceImplTest {
         BookingRepository mockBookingRepository = Mockito.mock(BookingRepository.class);
         CommentRepository mockCommentRepository = Mockito.mock(CommentRepository.class);
         ItemServiceImpl itemService =
-                new ItemServiceImpl(mockItemRepository, mockUserRepository, mockCommentRepository, mockBookingRepository);
+                new ItemServiceImpl(mockItemRepository, mockCommentRepository, mockBookingRepository,
+                        Mockito.mock(ItemRequestRepository.class),
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenItems();
 
@@ -164,7 +295,9 @@ class ItemServiceImplTest {
         BookingRepository mockBookingRepository = Mockito.mock(BookingRepository.class);
         CommentRepository mockCommentRepository = Mockito.mock(CommentRepository.class);
         ItemServiceImpl itemService =
-                new ItemServiceImpl(mockItemRepository, mockUserRepository, mockCommentRepository, mockBookingRepository);
+                new ItemServiceImpl(mockItemRepository, mockCommentRepository, mockBookingRepository,
+                        Mockito.mock(ItemRequestRepository.class),
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenItems();
 
@@ -197,7 +330,9 @@ class ItemServiceImplTest {
         BookingRepository mockBookingRepository = Mockito.mock(BookingRepository.class);
         CommentRepository mockCommentRepository = Mockito.mock(CommentRepository.class);
         ItemServiceImpl itemService =
-                new ItemServiceImpl(mockItemRepository, mockUserRepository, mockCommentRepository, mockBookingRepository);
+                new ItemServiceImpl(mockItemRepository, mockCommentRepository, mockBookingRepository,
+                        Mockito.mock(ItemRequestRepository.class),
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenItems();
 
@@ -231,7 +366,9 @@ class ItemServiceImplTest {
         BookingRepository mockBookingRepository = Mockito.mock(BookingRepository.class);
         CommentRepository mockCommentRepository = Mockito.mock(CommentRepository.class);
         ItemServiceImpl itemService =
-                new ItemServiceImpl(mockItemRepository, mockUserRepository, mockCommentRepository, mockBookingRepository);
+                new ItemServiceImpl(mockItemRepository, mockCommentRepository, mockBookingRepository,
+                        Mockito.mock(ItemRequestRepository.class),
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenItems();
 
@@ -261,7 +398,9 @@ class ItemServiceImplTest {
         BookingRepository mockBookingRepository = Mockito.mock(BookingRepository.class);
         CommentRepository mockCommentRepository = Mockito.mock(CommentRepository.class);
         ItemServiceImpl itemService =
-                new ItemServiceImpl(mockItemRepository, mockUserRepository, mockCommentRepository, mockBookingRepository);
+                new ItemServiceImpl(mockItemRepository, mockCommentRepository, mockBookingRepository,
+                        Mockito.mock(ItemRequestRepository.class),
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenItems();
 
@@ -283,7 +422,9 @@ class ItemServiceImplTest {
         BookingRepository mockBookingRepository = Mockito.mock(BookingRepository.class);
         CommentRepository mockCommentRepository = Mockito.mock(CommentRepository.class);
         ItemServiceImpl itemService =
-                new ItemServiceImpl(mockItemRepository, mockUserRepository, mockCommentRepository, mockBookingRepository);
+                new ItemServiceImpl(mockItemRepository, mockCommentRepository, mockBookingRepository,
+                        Mockito.mock(ItemRequestRepository.class),
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenItems();
 
@@ -305,7 +446,9 @@ class ItemServiceImplTest {
         BookingRepository mockBookingRepository = Mockito.mock(BookingRepository.class);
         CommentRepository mockCommentRepository = Mockito.mock(CommentRepository.class);
         ItemServiceImpl itemService =
-                new ItemServiceImpl(mockItemRepository, mockUserRepository, mockCommentRepository, mockBookingRepository);
+                new ItemServiceImpl(mockItemRepository, mockCommentRepository, mockBookingRepository,
+                        Mockito.mock(ItemRequestRepository.class),
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenItems();
 
@@ -328,7 +471,9 @@ class ItemServiceImplTest {
         BookingRepository mockBookingRepository = Mockito.mock(BookingRepository.class);
         CommentRepository mockCommentRepository = Mockito.mock(CommentRepository.class);
         ItemServiceImpl itemService =
-                new ItemServiceImpl(mockItemRepository, mockUserRepository, mockCommentRepository, mockBookingRepository);
+                new ItemServiceImpl(mockItemRepository, mockCommentRepository, mockBookingRepository,
+                        Mockito.mock(ItemRequestRepository.class),
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenItems();
 
@@ -337,12 +482,12 @@ class ItemServiceImplTest {
                 .thenReturn(Optional.of(user));
 
         Mockito
-                .when(mockItemRepository.search(Mockito.anyString()))
+                .when(mockItemRepository.search(Mockito.anyString(), Mockito.anyLong(), Mockito.any()))
                 .thenReturn(sourceItems);
 
         // when
         Collection<ItemDto> targetItems =
-                itemService.searchItems("поход");
+                itemService.searchItems("поход", 0, 20, null);
 
         // then
         assertThat(targetItems, hasSize(sourceItems.size()));
@@ -355,6 +500,56 @@ class ItemServiceImplTest {
         }
     }
 
+    @Test
+    void searchItemsAfterCursor() {
+        // given
+        ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
+        UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
+        BookingRepository mockBookingRepository = Mockito.mock(BookingRepository.class);
+        CommentRepository mockCommentRepository = Mockito.mock(CommentRepository.class);
+        ItemServiceImpl itemService =
+                new ItemServiceImpl(mockItemRepository, mockCommentRepository, mockBookingRepository,
+                        Mockito.mock(ItemRequestRepository.class),
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
+
+        givenItems();
+
+        Mockito
+                .when(mockItemRepository.search("поход", 2L, PageRequest.of(0, 20)))
+                .thenReturn(sourceItems.subList(2, 3));
+
+        // when
+        Collection<ItemDto> targetItems =
+                itemService.searchItems("поход", 40, 20, Cursor.encode(2L));
+
+        // then
+        assertThat(targetItems, contains(hasProperty("id", equalTo(3L))));
+    }
+
+    @Test
+    void searchItemsBlankText() {
+        ItemServiceImpl itemService = new ItemServiceImpl(Mockito.mock(ItemRepository.class),
+                Mockito.mock(CommentRepository.class),
+                Mockito.mock(BookingRepository.class), Mockito.mock(ItemRequestRepository.class),
+                Mockito.mock(UserService.class));
+
+        assertThat(itemService.searchItems(" ", 0, 20, null), is(empty()));
+    }
+
+    @Test
+    void searchItemsSizeIsNotCorrect() {
+        ItemServiceImpl itemService = new ItemServiceImpl(Mockito.mock(ItemRepository.class),
+                Mockito.mock(CommentRepository.class),
+                Mockito.mock(BookingRepository.class), Mockito.mock(ItemRequestRepository.class),
+                Mockito.mock(UserService.class));
+
+        ValidationException validationException = Assertions.assertThrows(
+                ValidationException.class,
+                () -> itemService.searchItems("поход", 0, 0, null));
+
+        Assertions.assertEquals("Parameter size (0) is incorrect", validationException.getMessage());
+    }
+
     @Test
     void addItemCommentUserIsNotBooker() {
         // given
@@ -363,7 +558,9 @@ class ItemServiceImplTest {
         BookingRepository mockBookingRepository = Mockito.mock(BookingRepository.class);
         CommentRepository mockCommentRepository = Mockito.mock(CommentRepository.class);
         ItemServiceImpl itemService =
-                new ItemServiceImpl(mockItemRepository, mockUserRepository, mockCommentRepository, mockBookingRepository);
+                new ItemServiceImpl(mockItemRepository, mockCommentRepository, mockBookingRepository,
+                        Mockito.mock(ItemRequestRepository.class),
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenItems();
 
@@ -413,7 +610,9 @@ class ItemServiceImplTest {
         BookingRepository mockBookingRepository = Mockito.mock(BookingRepository.class);
         CommentRepository mockCommentRepository = Mockito.mock(CommentRepository.class);
         ItemServiceImpl itemService =
-                new ItemServiceImpl(mockItemRepository, mockUserRepository, mockCommentRepository, mockBookingRepository);
+                new ItemServiceImpl(mockItemRepository, mockCommentRepository, mockBookingRepository,
+                        Mockito.mock(ItemRequestRepository.class),
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()));
 
         givenItems();
 
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+
+class CursorTest {
+
+    @Test
+    void encodeAndDecode() {
+        LocalDateTime start = LocalDateTime.of(2022, 10, 1, 12, 0, 1);
+        String cursor = Cursor.encode(start, 42L);
+
+        String[] keys = Cursor.decode(cursor, 2);
+
+        Assertions.assertEquals(start, LocalDateTime.parse(keys[0]));
+        Assertions.assertEquals("42", keys[1]);
+    }
+
+    @Test
+    void decodeId() {
+        Assertions.assertEquals(7L, Cursor.decodeId(Cursor.encode(7L)));
+    }
+
+    @Test
+    void decodeWrongKeyCount() {
+        ValidationException validationException = Assertions.assertThrows(
+                ValidationException.class,
+                () -> Cursor.decode(Cursor.encode(1L, 2L), 1));
+
+        Assertions.assertEquals(String.format("Параметр cursor (%s) задан некорректно", Cursor.encode(1L, 2L)),
+                validationException.getMessage());
+    }
+
+    @Test
+    void decodeMalformedCursor() {
+        Assertions.assertThrows(ValidationException.class, () -> Cursor.decode("***", 1));
+        Assertions.assertThrows(ValidationException.class, () -> Cursor.decodeId(Cursor.encode("abc")));
+    }
+}
@@ -8,7 +8,10 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.cache.ResourceVersion;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.Keyset;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestFullDto;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -25,6 +28,7 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -42,7 +46,8 @@ class ItemRequestControllerTest {
     private ItemRequestDto itemRequestDto = new ItemRequestDto(1L, "Нужна 4-местная байдарка");
     private ItemRequest itemRequest = new ItemRequest();
     private ItemRequestFullDto itemRequestFullDto = new ItemRequestFullDto();
-    private Item item = new Item();
+    private ItemShortDto item = new ItemShortDto(2L, "Дрель", "Инструмент для сверления", true, 3L,
+            itemRequestDto.getId());
 
     @BeforeEach
     void setUp() {
@@ -51,11 +56,6 @@ class ItemRequestControllerTest {
         itemRequest.setCreated(LocalDateTime.of(2022, 10, 1, 1, 1, 1));
         itemRequest.setDescription(itemRequestDto.getDescription());
 
-        item.setId(2L);
-        item.setName("Дрель");
-        item.setDescription("Инструмент для сверления");
-        item.setOwner(3L);
-
         itemRequestFullDto.setId(itemRequest.getId());
         itemRequestFullDto.setDescription(itemRequest.getDescription());
         itemRequestFullDto.setCreated(itemRequest.getCreated());
@@ -101,7 +101,7 @@ class ItemRequestControllerTest {
 
     @Test
     void findAllItemRequests() throws Exception {
-        when(service.findAllItemRequests(anyLong(), anyInt(), anyInt()))
+        when(service.findAllItemRequests(anyLong(), anyInt(), anyInt(), any()))
                 .thenReturn(List.of(itemRequestFullDto));
 
         mvc.perform(get("/requests/all")
@@ -118,8 +118,26 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$[0].items[0].id", is(item.getId()), Long.class));
     }
 
+    @Test
+    void findAllItemRequestsFullPageHasNextCursor() throws Exception {
+        when(service.findAllItemRequests(1L, 0, 1, null))
+                .thenReturn(List.of(itemRequestFullDto));
+
+        mvc.perform(get("/requests/all")
+                        .header(X_SHARER_USER_ID, VALUE_HEADER_ONE)
+                        .param("size", "1")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().string(Cursor.NEXT_CURSOR_HEADER,
+                        Keyset.encode(itemRequestFullDto.getCreated(), itemRequestFullDto.getId())));
+    }
+
     @Test
     void findItemByIdIsOk() throws Exception {
+        when(service.getItemRequestVersion(anyLong(), anyLong()))
+                .thenReturn(Optional.of(ResourceVersion.of(null, "request", 1, 0)));
         when(service.getItemRequest(anyLong(), anyLong()))
                 .thenReturn(Optional.of(itemRequestFullDto));
 
@@ -138,7 +156,7 @@ class ItemRequestControllerTest {
 
     @Test
     void findItemByIdIsNotFound() throws Exception {
-        when(service.getItemRequest(anyLong(), anyLong()))
+        when(service.getItemRequestVersion(anyLong(), anyLong()))
                 .thenReturn(Optional.empty());
 
         mvc.perform(get("/requests/{id}", 1)
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.pagination.Keyset;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestFullDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.service.ItemRequestFeed;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.not;
+
+// без @Transactional: буфер ленты пополняется только после фиксации транзакции
+@SpringBootTest(
+        properties = {"db.name=testDB", "shareit.request.feed-size=100"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemRequestFeedServiceTest {
+    private static final int PAGE_SIZE = 10;
+
+    private final ItemRequestService service;
+    private final ItemRequestFeed feed;
+    private final ItemRequestRepository repository;
+    private final UserService userService;
+    private final UserRepository userRepository;
+
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> requestIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAllById(requestIds);
+        userRepository.deleteAllById(userIds);
+    }
+
+    @Test
+    void firstPageFromBufferMatchesFeedQuery() {
+        // given
+        long viewerId = saveUser("viewer@mail.ru", "Viewer");
+        long authorId = saveUser("author@mail.ru", "Author");
+        saveItemRequest("палатка", authorId);
+        long ownRequestId = saveItemRequest("свой запрос", viewerId);
+        saveItemRequest("байдарка", authorId);
+
+        // when
+        List<Long> loaded = findAllItemRequests(viewerId);
+
+        // then
+        assertThat(loaded, equalTo(findFeed(viewerId)));
+        assertThat(loaded, hasItems(requestIds.get(0), requestIds.get(2)));
+        assertThat(loaded, not(hasItem(ownRequestId)));
+
+        // when
+        long addedId = saveItemRequest("столик", authorId);
+        List<Long> added = findAllItemRequests(viewerId);
+
+        // then
+        assertThat(added, equalTo(findFeed(viewerId)));
+        assertThat(added.get(0), equalTo(addedId));
+        assertThat(feed.firstPage(viewerId, PAGE_SIZE).map(this::ids).orElseThrow(), equalTo(added));
+    }
+
+    private List<Long> findAllItemRequests(long userId) {
+        return service.findAllItemRequests(userId, 0, PAGE_SIZE, null).stream()
+                .map(ItemRequestFullDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    private List<Long> findFeed(long userId) {
+        Keyset keyset = Keyset.of(null, 0, PAGE_SIZE);
+        return ids(repository.findFeed(userId, keyset.getTime(), keyset.getId(), keyset.getPageable()).getContent());
+    }
+
+    private List<Long> ids(List<ItemRequest> itemRequests) {
+        return itemRequests.stream().map(ItemRequest::getId).collect(Collectors.toList());
+    }
+
+    private long saveUser(String email, String name) {
+        UserDto userDto = new UserDto();
+        userDto.setEmail(email);
+        userDto.setName(name);
+        long userId = userService.save(userDto).getId();
+        userIds.add(userId);
+        return userId;
+    }
+
+    private long saveItemRequest(String description, long userId) {
+        long requestId = service.saveItemRequest(new ItemRequestDto(0, description), userId).getId();
+        requestIds.add(requestId);
+        return requestId;
+    }
+}
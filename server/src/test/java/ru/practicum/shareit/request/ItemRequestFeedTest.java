@@ -0,0 +1,88 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.service.ItemRequestFeed;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+class ItemRequestFeedTest {
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @Test
+    void firstPageSkipsOwnRequestsWithoutDatabase() {
+        // given
+        ItemRequestRepository mockRepository = Mockito.mock(ItemRequestRepository.class);
+        ItemRequest own = makeItemRequest(3L, 1L, now);
+        ItemRequest first = makeItemRequest(2L, 2L, now.minusHours(1));
+        ItemRequest second = makeItemRequest(1L, 2L, now.minusHours(2));
+        Mockito
+                .when(mockRepository.findAllByOrderByCreatedDescIdDesc(PageRequest.of(0, 10)))
+                .thenReturn(new SliceImpl<>(List.of(own, first, second)));
+        ItemRequestFeed feed = new ItemRequestFeed(mockRepository, 10);
+
+        // when
+        Optional<List<ItemRequest>> page = feed.firstPage(1L, 20);
+        feed.firstPage(1L, 20);
+
+        // then
+        Assertions.assertTrue(page.isPresent());
+        assertThat(page.get(), contains(first, second));
+        Mockito.verify(mockRepository, Mockito.times(1)).findAllByOrderByCreatedDescIdDesc(Mockito.any());
+    }
+
+    @Test
+    void firstPageIsEmptyWhenBufferIsShort() {
+        // given
+        ItemRequestRepository mockRepository = Mockito.mock(ItemRequestRepository.class);
+        Mockito
+                .when(mockRepository.findAllByOrderByCreatedDescIdDesc(PageRequest.of(0, 2)))
+                .thenReturn(new SliceImpl<>(List.of(makeItemRequest(2L, 1L, now),
+                        makeItemRequest(1L, 2L, now.minusHours(1)))));
+        ItemRequestFeed feed = new ItemRequestFeed(mockRepository, 2);
+
+        // when and then
+        Assertions.assertTrue(feed.firstPage(1L, 2).isEmpty());
+    }
+
+    @Test
+    void addKeepsNewestRequests() {
+        // given
+        ItemRequestRepository mockRepository = Mockito.mock(ItemRequestRepository.class);
+        ItemRequest old = makeItemRequest(1L, 2L, now.minusHours(2));
+        Mockito
+                .when(mockRepository.findAllByOrderByCreatedDescIdDesc(PageRequest.of(0, 2)))
+                .thenReturn(new SliceImpl<>(List.of(old)));
+        ItemRequestFeed feed = new ItemRequestFeed(mockRepository, 2);
+        feed.firstPage(1L, 2);
+        ItemRequest newest = makeItemRequest(3L, 2L, now);
+        ItemRequest middle = makeItemRequest(2L, 2L, now.minusHours(1));
+
+        // when
+        feed.add(newest);
+        feed.add(middle);
+
+        // then
+        assertThat(feed.firstPage(1L, 2).get(), contains(newest, middle));
+        Assertions.assertTrue(feed.firstPage(1L, 3).isEmpty());
+    }
+
+    private ItemRequest makeItemRequest(long id, long userId, LocalDateTime created) {
+        ItemRequest itemRequest = new ItemRequest();
+        itemRequest.setId(id);
+        itemRequest.setRequestor(userId);
+        itemRequest.setCreated(created);
+        itemRequest.setDescription("палатка");
+        return itemRequest;
+    }
+}
@@ -5,8 +5,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -44,7 +44,7 @@ class ItemRequestRepositoryTest {
 
     @Test
     void findByRequestorOrderByCreatedDesc() {
-        Page<ItemRequest> foundItemRequests = repository
+        Slice<ItemRequest> foundItemRequests = repository
                 .findByRequestorOrderByCreatedDesc(userId, PageRequest.of(0, 20));
         assertThat(foundItemRequests).hasSize(1);
     }
@@ -6,21 +6,24 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestFullDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.request.service.ItemRequestFeed;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.service.UserServiceImpl;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
@@ -37,7 +40,7 @@ import static org.hamcrest.Matchers.*;
 
 @Transactional
 @SpringBootTest(
-        properties = "db.name=testDB",
+        properties = {"db.name=testDB", "shareit.request.feed-size=0"},
         webEnvironment = SpringBootTest.WebEnvironment.NONE)
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class ItemRequestServiceImplTest {
@@ -80,6 +83,45 @@ class ItemRequestServiceImplTest {
         }
     }
 
+    @Test
+    void findAllItemRequestsWithItems() {
+        // given
+        User requestor = makeUser("jyk@gmail.com", "Eugene");
+        em.persist(requestor);
+        User owner = makeUser("owner@mail.ru", "Owner");
+        em.persist(owner);
+        ItemRequest boatRequest = makeItemRequest(requestor.getId(), "4-местная байдарка",
+                LocalDateTime.now().minusDays(1));
+        em.persist(boatRequest);
+        ItemRequest tentRequest = makeItemRequest(requestor.getId(), "палатка", LocalDateTime.now());
+        em.persist(tentRequest);
+        Item boat = makeItem(owner.getId(), "байдарка", boatRequest.getId());
+        em.persist(boat);
+        em.persist(makeItem(owner.getId(), "каяк", boatRequest.getId()));
+        em.flush();
+
+        // when
+        List<ItemRequestFullDto> targetItemRequests =
+                List.copyOf(service.findAllItemRequests(owner.getId(), 0, 20, null));
+
+        // then
+        assertThat(targetItemRequests, contains(
+                allOf(hasProperty("id", equalTo(tentRequest.getId())), hasProperty("items", is(empty()))),
+                allOf(hasProperty("id", equalTo(boatRequest.getId())), hasProperty("items", contains(
+                        allOf(hasProperty("id", equalTo(boat.getId())), hasProperty("name", equalTo("байдарка"))),
+                        hasProperty("name", equalTo("каяк")))))));
+    }
+
+    private Item makeItem(long ownerId, String name, long requestId) {
+        Item item = new Item();
+        item.setOwner(ownerId);
+        item.setName(name);
+        item.setDescription(name);
+        item.setAvailable(true);
+        item.setRequestId(requestId);
+        return item;
+    }
+
     private ItemRequest makeItemRequest(long userId, String desc, LocalDateTime created) {
         ItemRequest itemRequest = new ItemRequest();
         itemRequest.setRequestor(userId);
@@ -115,7 +157,9 @@ class ItemRequestServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         ItemRequestServiceImpl itemRequestService =
-                new ItemRequestServiceImpl(mockRepository, mockItemRepository, mockUserRepository);
+                new ItemRequestServiceImpl(mockRepository, mockItemRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()),
+                        new ItemRequestFeed(mockRepository, 0));
 
         User user = makeUser("jyk@gmail.com", "Eugene");
         user.setId(1L);
@@ -127,7 +171,7 @@ class ItemRequestServiceImplTest {
         // when
         final NotFoundException notFoundException = Assertions.assertThrows(
                 NotFoundException.class,
-                () -> itemRequestService.findAllItemRequests(2L, 0, 20));
+                () -> itemRequestService.findAllItemRequests(2L, 0, 20, null));
 
         // then
         Assertions.assertEquals("Пользователь (id = 2) не найден", notFoundException.getMessage());
@@ -140,7 +184,9 @@ class ItemRequestServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         ItemRequestServiceImpl itemRequestService =
-                new ItemRequestServiceImpl(mockRepository, mockItemRepository, mockUserRepository);
+                new ItemRequestServiceImpl(mockRepository, mockItemRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()),
+                        new ItemRequestFeed(mockRepository, 0));
 
         User user = makeUser("jyk@gmail.com", "Eugene");
         user.setId(1L);
@@ -152,7 +198,7 @@ class ItemRequestServiceImplTest {
         // when
         ValidationException validationException = Assertions.assertThrows(
                 ValidationException.class,
-                () -> itemRequestService.findAllItemRequests(1L, -1, 20));
+                () -> itemRequestService.findAllItemRequests(1L, -1, 20, null));
 
         // then
         Assertions.assertEquals("Параметр from (-1) задан некорректно", validationException.getMessage());
@@ -165,7 +211,9 @@ class ItemRequestServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         ItemRequestServiceImpl itemRequestService =
-                new ItemRequestServiceImpl(mockRepository, mockItemRepository, mockUserRepository);
+                new ItemRequestServiceImpl(mockRepository, mockItemRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()),
+                        new ItemRequestFeed(mockRepository, 0));
 
         User user = makeUser("jyk@gmail.com", "Eugene");
         user.setId(1L);
@@ -177,7 +225,7 @@ class ItemRequestServiceImplTest {
         // when
         ValidationException validationException = Assertions.assertThrows(
                 ValidationException.class,
-                () -> itemRequestService.findAllItemRequests(1L, 0, 0));
+                () -> itemRequestService.findAllItemRequests(1L, 0, 0, null));
 
         // then
         Assertions.assertEquals("Параметр size (0) задан некорректно", validationException.getMessage());
@@ -190,7 +238,9 @@ class ItemRequestServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         ItemRequestServiceImpl itemRequestService =
-                new ItemRequestServiceImpl(mockRepository, mockItemRepository, mockUserRepository);
+                new ItemRequestServiceImpl(mockRepository, mockItemRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()),
+                        new ItemRequestFeed(mockRepository, 0));
 
         User user = makeUser("jyk@gmail.com", "Eugene");
         user.setId(1L);
@@ -210,12 +260,13 @@ class ItemRequestServiceImplTest {
         }
 
         Mockito
-                .when(mockRepository.findByRequestorNotOrderByCreatedDesc(1L, PageRequest.of(0, 20)))
-                .thenReturn(new PageImpl<>(sourceItemRequests));
+                .when(mockRepository.findFeed(Mockito.eq(1L), Mockito.any(), Mockito.eq(Long.MAX_VALUE),
+                        Mockito.eq(PageRequest.of(0, 20))))
+                .thenReturn(new SliceImpl<>(sourceItemRequests));
 
         // when
         Collection<ItemRequestFullDto> targetItemRequests =
-                itemRequestService.findAllItemRequests(user.getId(), 0, 20);
+                itemRequestService.findAllItemRequests(user.getId(), 0, 20, null);
 
         // then
         assertThat(targetItemRequests, hasSize(sourceItemRequests.size()));
@@ -235,7 +286,9 @@ class ItemRequestServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         ItemRequestServiceImpl itemRequestService =
-                new ItemRequestServiceImpl(mockRepository, mockItemRepository, mockUserRepository);
+                new ItemRequestServiceImpl(mockRepository, mockItemRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()),
+                        new ItemRequestFeed(mockRepository, 0));
 
         User user = makeUser("jyk@gmail.com", "Eugene");
         user.setId(1L);
@@ -263,7 +316,9 @@ class ItemRequestServiceImplTest {
         ItemRepository mockItemRepository = Mockito.mock(ItemRepository.class);
         UserRepository mockUserRepository = Mockito.mock(UserRepository.class);
         ItemRequestServiceImpl itemRequestService =
-                new ItemRequestServiceImpl(mockRepository, mockItemRepository, mockUserRepository);
+                new ItemRequestServiceImpl(mockRepository, mockItemRepository,
+                        new UserServiceImpl(mockUserRepository, mockItemRepository, new UserMapper()),
+                        new ItemRequestFeed(mockRepository, 0));
 
         User user = makeUser("jyk@gmail.com", "Eugene");
         user.setId(1L);
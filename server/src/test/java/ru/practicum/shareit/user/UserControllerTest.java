@@ -6,8 +6,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.cache.CacheHeaders;
+import ru.practicum.shareit.cache.ResourceVersion;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -19,8 +22,11 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -89,7 +95,8 @@ class UserControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath(ID, is(userDto.getId()), Long.class))
                 .andExpect(jsonPath(NAME, is(userDto.getName())))
-                .andExpect(jsonPath(EMAIL, is(userDto.getEmail())));
+                .andExpect(jsonPath(EMAIL, is(userDto.getEmail())))
+                .andExpect(header().stringValues(CacheHeaders.INVALIDATE_HEADER, "/users", "/items"));
     }
 
     @Test
@@ -107,6 +114,8 @@ class UserControllerTest {
 
     @Test
     void findUserByIdIsOk() throws Exception {
+        when(service.getUserVersion(anyLong()))
+                .thenReturn(Optional.of(ResourceVersion.of(null, "user", 1, 0)));
         when(service.getUserDto(anyLong()))
                 .thenReturn(Optional.of(userDto));
 
@@ -117,7 +126,21 @@ class UserControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath(ID, is(userDto.getId()), Long.class))
                 .andExpect(jsonPath(NAME, is(userDto.getName())))
-                .andExpect(jsonPath(EMAIL, is(userDto.getEmail())));
+                .andExpect(jsonPath(EMAIL, is(userDto.getEmail())))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, private"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"user-1-0\""));
+    }
+
+    @Test
+    void findUserByIdIsNotModified() throws Exception {
+        when(service.getUserVersion(anyLong()))
+                .thenReturn(Optional.of(ResourceVersion.of(null, "user", 1, 0)));
+
+        mvc.perform(get("/users/{id}", 1)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"user-1-0\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified());
+        verify(service, never()).getUserDto(anyLong());
     }
 
     @Test
@@ -41,4 +41,21 @@ class UserRepositoryTest {
         Optional<User> foundItem = repository.findByEmail("Eugeneno2@mail.ru");
         assertThat(foundItem.isEmpty());
     }
+
+    @Test
+    void insertWithoutIdDoesNotReuseHibernateIds() {
+        em.getEntityManager()
+                .createNativeQuery("INSERT INTO users (name, email) VALUES ('Manual', 'manual@mail.ru')")
+                .executeUpdate();
+        User next = new User();
+        next.setName("Next");
+        next.setEmail("next@mail.ru");
+        em.persistAndFlush(next);
+
+        long manualId = ((Number) em.getEntityManager()
+                .createNativeQuery("SELECT id FROM users WHERE email = 'manual@mail.ru'")
+                .getSingleResult()).longValue();
+        // id берётся из users_seq за пределами уже выданного Hibernate блока
+        assertThat(manualId).isGreaterThan(user.getId()).isNotEqualTo(next.getId());
+    }
 }
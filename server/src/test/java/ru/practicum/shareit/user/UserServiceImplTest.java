@@ -6,6 +6,11 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -32,6 +37,8 @@ class UserServiceImplTest {
 
     private final EntityManager em;
     private final UserService service;
+    private final CacheManager cacheManager;
+    private final PlatformTransactionManager transactionManager;
 
     private final UserMapper userMapper;
 
@@ -63,6 +70,42 @@ class UserServiceImplTest {
         }
     }
 
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    void getUserIsCachedUntilUpdateCommits() {
+        // given
+        UserDto sourceUser = new UserDto();
+        sourceUser.setEmail("cached@mail.ru");
+        sourceUser.setName("Cached");
+        long userId = service.save(sourceUser).getId();
+        Cache users = cacheManager.getCache("users");
+
+        // when
+        service.getUser(userId);
+
+        // then
+        assertThat(users.get(userId, UserDto.class), hasProperty("name", equalTo("Cached")));
+
+        // when
+        UserDto userDto = service.getUser(userId).get();
+        UserDto renamed = new UserDto();
+        renamed.setId(userId);
+        renamed.setName("Renamed");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            service.update(renamed);
+
+            // then
+            assertThat(users.get(userId), is(notNullValue()));
+        });
+
+        // then
+        assertThat(users.get(userId), is(nullValue()));
+        assertThat(userDto.getName(), equalTo("Cached"));
+        assertThat(service.getUser(userId).get().getName(), equalTo("Renamed"));
+
+        service.delete(userId);
+    }
+
     private User makeUser(String email, String name) {
         User user = new User();
         user.setEmail(email);
@@ -74,7 +117,7 @@ class UserServiceImplTest {
     void saveUser() {
         // given
         UserRepository mockRepository = Mockito.mock(UserRepository.class);
-        UserServiceImpl userService = new UserServiceImpl(mockRepository, userMapper);
+        UserServiceImpl userService = new UserServiceImpl(mockRepository, Mockito.mock(ItemRepository.class), userMapper);
 
         User saveUser = makeUser("jyk@gmail.com", "Eugene");
         saveUser.setId(1L);
@@ -94,7 +137,7 @@ class UserServiceImplTest {
     void updateUserIsOk() {
         // given
         UserRepository mockRepository = Mockito.mock(UserRepository.class);
-        UserServiceImpl userService = new UserServiceImpl(mockRepository, userMapper);
+        UserServiceImpl userService = new UserServiceImpl(mockRepository, Mockito.mock(ItemRepository.class), userMapper);
 
         User getUser = makeUser("jyk@gmail.com", "Eugene");
         getUser.setId(1L);
@@ -123,7 +166,7 @@ class UserServiceImplTest {
     void deleteUserIsOk() {
         UserRepository mockRepository = Mockito.mock(UserRepository.class);
         UserMapper mockUserMapper = Mockito.mock(UserMapper.class);
-        UserServiceImpl userService = new UserServiceImpl(mockRepository, mockUserMapper);
+        UserServiceImpl userService = new UserServiceImpl(mockRepository, Mockito.mock(ItemRepository.class), mockUserMapper);
 
         User getUser = makeUser("jyk@gmail.com", "Eugene");
         getUser.setId(1L);
@@ -138,8 +181,7 @@ class UserServiceImplTest {
     @Test
     void getUser() {
         UserRepository mockRepository = Mockito.mock(UserRepository.class);
-        UserMapper mockUserMapper = Mockito.mock(UserMapper.class);
-        UserServiceImpl userService = new UserServiceImpl(mockRepository, mockUserMapper);
+        UserServiceImpl userService = new UserServiceImpl(mockRepository, Mockito.mock(ItemRepository.class), new UserMapper());
 
         User getUser = makeUser("jyk@gmail.com", "Eugene");
         getUser.setId(1L);
@@ -148,8 +190,10 @@ class UserServiceImplTest {
                 .when(mockRepository.findById(Mockito.anyLong()))
                 .thenReturn(Optional.of(getUser));
 
-        User checkUser = userService.getUser(1L).get();
+        UserDto checkUser = userService.getUser(1L).get();
 
-        Assertions.assertEquals(getUser, checkUser);
+        Assertions.assertEquals(getUser.getId(), checkUser.getId());
+        Assertions.assertEquals(getUser.getName(), checkUser.getName());
+        Assertions.assertEquals(getUser.getEmail(), checkUser.getEmail());
     }
 }